@@ -0,0 +1,42 @@
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * FCFS workload that schedules either the generated task list itself or a
+ * {@link SortedTaskList} built from it beforehand. FCFS does little work per task, so the
+ * difference shows what validating, copying and sorting the input costs per run.
+ */
+public class InputWorkload implements Supplier<List<ScheduledTask>> {
+    private final Scheduler strategy = new FCFSStrategy();
+    private final List<Task> tasks;
+    private final int nrProcessors;
+
+    /**
+     * Creates a workload with uniformly distributed arrivals.
+     * @param input LIST (unsorted list) or SORTED (prepared SortedTaskList)
+     * @param taskCount number of tasks to generate
+     * @param nrProcessors number of processors
+     * @param seed seed for the task generator
+     * @throws IllegalArgumentException if the input kind is unknown
+     */
+    public InputWorkload(String input, int taskCount, int nrProcessors, long seed) {
+        List<Task> generated = SchedulerWorkload.generateTasks(taskCount, nrProcessors,
+                                                               "UNIFORM", seed);
+        switch (input) {
+            case "LIST":
+                this.tasks = generated;
+                break;
+            case "SORTED":
+                this.tasks = SortedTaskList.of(generated);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown input: " + input);
+        }
+        this.nrProcessors = nrProcessors;
+    }
+
+    @Override
+    public List<ScheduledTask> get() {
+        return SchedulerService.runScheduler(strategy, tasks, nrProcessors);
+    }
+}
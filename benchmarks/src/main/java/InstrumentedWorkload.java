@@ -0,0 +1,47 @@
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A {@link SchedulerWorkload} whose strategy reports to a listener, to measure the cost of
+ * the instrumentation hooks. With {@code NONE} the strategy gets the no-op listener and should
+ * run as fast as an uninstrumented one; with {@code STATISTICS} every decision is counted.
+ */
+public class InstrumentedWorkload implements Supplier<List<ScheduledTask>> {
+    private final Scheduler strategy;
+    private final List<Task> tasks;
+    private final int nrProcessors;
+
+    /**
+     * Creates a workload with uniformly distributed arrivals.
+     * @param strategy FCFS, SJF, PRIORITY or ROUND_ROBIN
+     * @param listener NONE or STATISTICS
+     * @param taskCount number of tasks to generate
+     * @param nrProcessors number of processors
+     * @param quantum quantum for ROUND_ROBIN, ignored otherwise
+     * @param seed seed for the task generator
+     * @throws IllegalArgumentException if the strategy or listener is unknown
+     */
+    public InstrumentedWorkload(String strategy, String listener, int taskCount, int nrProcessors,
+                                long quantum, long seed) {
+        this.strategy = SchedulerWorkload.createStrategy(strategy, quantum,
+                                                         createListener(listener));
+        this.tasks = SchedulerWorkload.generateTasks(taskCount, nrProcessors, "UNIFORM", seed);
+        this.nrProcessors = nrProcessors;
+    }
+
+    @Override
+    public List<ScheduledTask> get() {
+        return SchedulerService.runScheduler(strategy, tasks, nrProcessors);
+    }
+
+    private static SchedulerListener createListener(String name) {
+        switch (name) {
+            case "NONE":
+                return SchedulerListener.NONE;
+            case "STATISTICS":
+                return new SchedulerStatistics();
+            default:
+                throw new IllegalArgumentException("Unknown listener: " + name);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Round robin workload with one long task per processor, all arriving at time 0.
+ * No task ever waits, so consecutive quanta on a processor always merge and the schedule has
+ * exactly one entry per processor however many quanta run. Any allocation that grows with
+ * the task length is therefore allocation per quantum.
+ */
+public class LongTaskWorkload implements Supplier<List<ScheduledTask>> {
+    private final Scheduler strategy;
+    private final List<Task> tasks;
+    private final int nrProcessors;
+
+    /**
+     * Creates a workload.
+     * @param nrProcessors number of processors, and of tasks
+     * @param taskLength length of every task
+     * @param quantum round robin quantum
+     */
+    public LongTaskWorkload(int nrProcessors, long taskLength, long quantum) {
+        this.strategy = new RoundRobinStrategy(quantum);
+        this.tasks = new ArrayList<>(nrProcessors);
+        for (int i = 0; i < nrProcessors; i++) {
+            tasks.add(new Task(i, 1, taskLength, 0));
+        }
+        this.nrProcessors = nrProcessors;
+    }
+
+    @Override
+    public List<ScheduledTask> get() {
+        return SchedulerService.runScheduler(strategy, tasks, nrProcessors);
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A Poisson workload at a given utilisation, scheduled either sequentially through
+ * {@link SchedulerService#runScheduler(Scheduler, List, int)} or by a
+ * {@link ParallelScheduler} on the common pool. The lower the utilisation, the more often
+ * the system drains and the more of the run the parallel scheduler can split.
+ */
+public class ParallelWorkload implements Supplier<List<ScheduledTask>> {
+    private final Scheduler strategy;
+    private final List<Task> tasks;
+    private final int nrProcessors;
+    private final ParallelScheduler parallelScheduler;
+
+    /**
+     * Creates a workload.
+     * @param strategy FCFS or SJF
+     * @param taskCount number of tasks to generate
+     * @param nrProcessors number of processors
+     * @param utilisation percentage of the processors' capacity the tasks ask for (1-100)
+     * @param engine SEQUENTIAL or PARALLEL
+     * @param seed seed for the task generator
+     * @throws IllegalArgumentException if the strategy or engine is unknown
+     */
+    public ParallelWorkload(String strategy, int taskCount, int nrProcessors, int utilisation,
+                            String engine, long seed) {
+        this.strategy = SchedulerWorkload.createStrategy(strategy, 0);
+        this.nrProcessors = nrProcessors;
+        switch (engine) {
+            case "SEQUENTIAL":
+                this.parallelScheduler = null;
+                break;
+            case "PARALLEL":
+                this.parallelScheduler = new ParallelScheduler();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+
+        // Stretch the fully loaded arrivals to the requested utilisation
+        List<Task> fullLoad = SchedulerWorkload.generateTasks(taskCount, nrProcessors,
+                                                              "POISSON", seed);
+        this.tasks = new ArrayList<>(taskCount);
+        for (Task task : fullLoad) {
+            tasks.add(new Task(task.getId(), task.getPriority(), task.getLength(),
+                               task.getArrivalTime() * 100 / utilisation));
+        }
+    }
+
+    @Override
+    public List<ScheduledTask> get() {
+        if (parallelScheduler == null) {
+            return SchedulerService.runScheduler(strategy, tasks, nrProcessors);
+        }
+        return parallelScheduler.schedule(strategy, tasks, nrProcessors);
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Point-in-time queries against a round robin schedule: which executions run at time t.
+ * {@code INDEX} answers them with a {@link ScheduleIndex}, {@code SCAN} walks the schedule
+ * list for every query as callers do without the index.
+ */
+public class ScheduleQueryWorkload implements Supplier<Integer> {
+    private static final int QUERIES = 1000;
+
+    private final List<ScheduledTask> schedule;
+    private final ScheduleIndex index;
+    private final boolean useIndex;
+    private final long[] queryTimes = new long[QUERIES];
+
+    /**
+     * Creates a workload with uniformly distributed arrivals and a quantum of 10.
+     * @param mode INDEX or SCAN
+     * @param taskCount number of tasks to generate
+     * @param nrProcessors number of processors
+     * @param seed seed for the task generator and the query times
+     * @throws IllegalArgumentException if the mode is unknown
+     */
+    public ScheduleQueryWorkload(String mode, int taskCount, int nrProcessors, long seed) {
+        if (!mode.equals("INDEX") && !mode.equals("SCAN")) {
+            throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        List<Task> tasks = SchedulerWorkload.generateTasks(taskCount, nrProcessors, "UNIFORM",
+                                                           seed);
+        this.schedule = SchedulerService.runScheduler(new RoundRobinStrategy(10), tasks,
+                                                      nrProcessors);
+        this.index = ScheduleIndex.of(schedule, nrProcessors);
+        this.useIndex = mode.equals("INDEX");
+        long makespan = schedule.get(schedule.size() - 1).getEndTime();
+        Random random = new Random(seed);
+        for (int i = 0; i < QUERIES; i++) {
+            queryTimes[i] = (long) (random.nextDouble() * makespan);
+        }
+    }
+
+    @Override
+    public Integer get() {
+        int running = 0;
+        for (long time : queryTimes) {
+            if (useIndex) {
+                running += index.getRunningAt(time).size();
+            } else {
+                for (ScheduledTask scheduledTask : schedule) {
+                    if (scheduledTask.getStartTime() <= time && time < scheduledTask.getEndTime()) {
+                        running++;
+                    }
+                }
+            }
+        }
+        return running;
+    }
+}
@@ -0,0 +1,129 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * A reproducible scheduling workload: one strategy, one generated task list and a processor
+ * count, run through {@link SchedulerService#runScheduler(Scheduler, List, int)}.
+ *
+ * JMH refuses benchmark classes in the default package and code in a named package cannot
+ * refer to the scheduler classes, so the benchmarks in package {@code benchmarks} create
+ * this class reflectively and only see it as a {@link Supplier}.
+ */
+public class SchedulerWorkload implements Supplier<List<ScheduledTask>> {
+    /** Mean task length; arrivals are spread so that the processors are about fully loaded. */
+    private static final int MEAN_LENGTH = 50;
+    private static final int PRIORITY_LEVELS = 10;
+
+    private final Scheduler strategy;
+    private final List<Task> tasks;
+    private final int nrProcessors;
+
+    /**
+     * Creates a workload.
+     * @param strategy FCFS, SJF, PRIORITY or ROUND_ROBIN
+     * @param taskCount number of tasks to generate
+     * @param nrProcessors number of processors
+     * @param arrivals UNIFORM, POISSON or BURST (everything arrives at time 0)
+     * @param quantum quantum for ROUND_ROBIN, ignored otherwise
+     * @param seed seed for the task generator
+     * @throws IllegalArgumentException if the strategy or arrival pattern is unknown
+     */
+    public SchedulerWorkload(String strategy, int taskCount, int nrProcessors, String arrivals,
+                             long quantum, long seed) {
+        this.strategy = createStrategy(strategy, quantum);
+        this.tasks = generateTasks(taskCount, nrProcessors, arrivals, seed);
+        this.nrProcessors = nrProcessors;
+    }
+
+    @Override
+    public List<ScheduledTask> get() {
+        return SchedulerService.runScheduler(strategy, tasks, nrProcessors);
+    }
+
+    /**
+     * Creates the strategy with the given name.
+     * @param name FCFS, SJF, PRIORITY, PRIORITY_AGING, SRTF, ROUND_ROBIN or MLFQ
+     * @param quantum quantum for ROUND_ROBIN, allotment of the top MLFQ level, aging interval
+     *                for PRIORITY_AGING
+     * @return the strategy
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    static Scheduler createStrategy(String name, long quantum) {
+        return createStrategy(name, quantum, SchedulerListener.NONE);
+    }
+
+    /**
+     * Creates the strategy with the given name, reporting to a listener.
+     * @param name FCFS, SJF, PRIORITY, PRIORITY_AGING, SRTF, ROUND_ROBIN or MLFQ
+     * @param quantum quantum for ROUND_ROBIN, allotment of the top MLFQ level, aging interval
+     *                for PRIORITY_AGING
+     * @param listener receives the decisions of the strategy
+     * @return the strategy
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    static Scheduler createStrategy(String name, long quantum, SchedulerListener listener) {
+        switch (name) {
+            case "FCFS":
+                return new FCFSStrategy(listener);
+            case "SJF":
+                return new SJFStrategy(listener);
+            case "PRIORITY":
+                return new PriorityStrategy(listener);
+            case "PRIORITY_AGING":
+                return new PriorityStrategy(quantum, listener);
+            case "SRTF":
+                return new SRTFStrategy(listener);
+            case "ROUND_ROBIN":
+                return new RoundRobinStrategy(quantum, listener);
+            case "MLFQ":
+                return new MLFQStrategy(new long[] {quantum, 2 * quantum, 4 * quantum},
+                                        100 * quantum, listener);
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    /**
+     * Generates tasks with uniformly distributed lengths and priorities.
+     * @param taskCount number of tasks
+     * @param nrProcessors number of processors the arrival rate is scaled to
+     * @param arrivals arrival pattern
+     * @param seed generator seed
+     * @return the tasks in random (not arrival) order
+     * @throws IllegalArgumentException if the arrival pattern is unknown
+     */
+    static List<Task> generateTasks(int taskCount, int nrProcessors, String arrivals, long seed) {
+        Random random = new Random(seed);
+        List<Task> tasks = new ArrayList<>(taskCount);
+        double meanGap = (double) MEAN_LENGTH / nrProcessors;
+        int horizon = (int) Math.max(1, taskCount * meanGap);
+        double poissonTime = 0;
+        for (int i = 0; i < taskCount; i++) {
+            long arrivalTime;
+            switch (arrivals) {
+                case "UNIFORM":
+                    arrivalTime = random.nextInt(horizon);
+                    break;
+                case "POISSON":
+                    poissonTime += -Math.log(1 - random.nextDouble()) * meanGap;
+                    arrivalTime = (long) poissonTime;
+                    break;
+                case "BURST":
+                    arrivalTime = 0;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown arrival pattern: " + arrivals);
+            }
+            long length = 1 + random.nextInt(2 * MEAN_LENGTH - 1);
+            tasks.add(new Task(i, random.nextInt(PRIORITY_LEVELS), length, arrivalTime));
+        }
+        // Present the tasks unsorted, as callers of runScheduler do
+        for (int i = tasks.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            tasks.set(i, tasks.set(j, tasks.get(i)));
+        }
+        return tasks;
+    }
+}
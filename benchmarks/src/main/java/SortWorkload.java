@@ -0,0 +1,25 @@
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Puts a shuffled task list in arrival order with {@link SortedTaskList#of(List)}, which
+ * validates, copies and sorts it: the input preparation of every {@code runScheduler} call.
+ */
+public class SortWorkload implements Supplier<List<Task>> {
+    private final List<Task> tasks;
+
+    /**
+     * Creates a workload with uniformly distributed arrivals.
+     * @param taskCount number of tasks to generate
+     * @param nrProcessors number of processors the arrival rate is scaled to
+     * @param seed seed for the task generator
+     */
+    public SortWorkload(int taskCount, int nrProcessors, long seed) {
+        this.tasks = SchedulerWorkload.generateTasks(taskCount, nrProcessors, "UNIFORM", seed);
+    }
+
+    @Override
+    public List<Task> get() {
+        return SortedTaskList.of(tasks);
+    }
+}
@@ -0,0 +1,55 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * End-to-end trace workload: schedules a binary task trace into a binary schedule trace with
+ * {@link SchedulerService#runScheduler(Scheduler, Path, int, Path)}, so the time includes
+ * loading the tasks and writing the schedule. The task trace is generated once, in a
+ * temporary directory that is deleted when the JVM exits.
+ */
+public class TraceWorkload implements Supplier<ScheduleBatch> {
+    private final Scheduler strategy;
+    private final Path taskTrace;
+    private final Path scheduleTrace;
+    private final int nrProcessors;
+
+    /**
+     * Creates a workload with uniformly distributed arrivals.
+     * @param strategy FCFS, SJF, PRIORITY or ROUND_ROBIN
+     * @param taskCount number of tasks to generate
+     * @param nrProcessors number of processors
+     * @param quantum quantum for ROUND_ROBIN, ignored otherwise
+     * @param seed seed for the task generator
+     * @throws UncheckedIOException if the trace cannot be written
+     */
+    public TraceWorkload(String strategy, int taskCount, int nrProcessors, long quantum,
+                         long seed) {
+        this.strategy = SchedulerWorkload.createStrategy(strategy, quantum);
+        this.nrProcessors = nrProcessors;
+        try {
+            Path directory = Files.createTempDirectory("trace-workload");
+            this.taskTrace = directory.resolve("tasks.bin");
+            this.scheduleTrace = directory.resolve("schedule.bin");
+            TaskTrace.write(taskTrace, TaskBatch.fromTasks(
+                    SchedulerWorkload.generateTasks(taskCount, nrProcessors, "UNIFORM", seed)));
+            directory.toFile().deleteOnExit();
+            taskTrace.toFile().deleteOnExit();
+            scheduleTrace.toFile().deleteOnExit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ScheduleBatch get() {
+        try {
+            return SchedulerService.runScheduler(strategy, taskTrace, nrProcessors,
+                                                 scheduleTrace);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
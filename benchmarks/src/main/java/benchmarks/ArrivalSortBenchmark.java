@@ -0,0 +1,49 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting a shuffled workload into arrival order. The time per task should stay flat as the
+ * task count grows, because the sort is linear.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ArrivalSortBenchmark {
+    @Param({"100000", "1000000", "10000000"})
+    public int taskCount;
+
+    @Param({"4"})
+    public int processors;
+
+    private Supplier<?> workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create("SortWorkload",
+                                    new Class<?>[] {int.class, int.class, long.class},
+                                    taskCount, processors, Workloads.SEED);
+    }
+
+    @Benchmark
+    public Object sortByArrival() {
+        return workload.get();
+    }
+}
@@ -0,0 +1,93 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar.
+ * Accepts the usual JMH command line, always attaches the GC profiler (allocation rate per
+ * operation), writes the results as JSON to {@code jmh-result.json} unless told otherwise
+ * and finally prints a scaling table: time and allocation per task for growing task counts.
+ */
+public final class BenchmarkRunner {
+    private static final String TASK_COUNT = "taskCount";
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     * @param args JMH command line options
+     * @throws Exception if JMH fails
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result("jmh-result.json");
+        }
+        Collection<RunResult> results = new Runner(options.build()).run();
+        printScaling(results);
+    }
+
+    /**
+     * Prints nanoseconds and bytes allocated per task for every configuration, one row per
+     * task count, so the growth of the cost with the input size can be read off directly.
+     * @param results the JMH results
+     */
+    private static void printScaling(Collection<RunResult> results) {
+        Map<String, List<String>> rows = new TreeMap<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            if (params.getParam(TASK_COUNT) == null) {
+                continue;
+            }
+            long taskCount = Long.parseLong(params.getParam(TASK_COUNT));
+            double opsPerSecond = result.getPrimaryResult().getScore();
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            double bytesPerTask = allocation == null ? Double.NaN
+                    : allocation.getScore() / taskCount;
+
+            StringBuilder configuration = new StringBuilder(simpleName(params.getBenchmark()));
+            for (String key : params.getParamsKeys()) {
+                if (!key.equals(TASK_COUNT)) {
+                    configuration.append(' ').append(key).append('=').append(params.getParam(key));
+                }
+            }
+            rows.computeIfAbsent(configuration.toString(), k -> new ArrayList<>())
+                    .add(String.format("    %10d tasks %12.1f ns/task %10.1f B/task",
+                                       taskCount, 1e9 / (opsPerSecond * taskCount),
+                                       bytesPerTask));
+        }
+
+        System.out.println();
+        System.out.println("Scaling per configuration:");
+        for (Map.Entry<String, List<String>> row : rows.entrySet()) {
+            System.out.println(row.getKey());
+            row.getValue().forEach(System.out::println);
+        }
+    }
+
+    private static String simpleName(String benchmark) {
+        String[] parts = benchmark.split("\\.");
+        return parts[parts.length - 2] + "." + parts[parts.length - 1];
+    }
+}
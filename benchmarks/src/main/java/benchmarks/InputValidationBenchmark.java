@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of preparing the input of {@code runScheduler}. {@code LIST} passes the unsorted task
+ * list, which is validated, copied and sorted in one pass per run; {@code SORTED} passes a
+ * prepared {@code SortedTaskList}, which is scheduled as-is. Run with the GC profiler to
+ * compare the allocation per run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InputValidationBenchmark {
+    @Param({"LIST", "SORTED"})
+    public String input;
+
+    @Param({"1000000", "10000000"})
+    public int taskCount;
+
+    @Param({"4"})
+    public int processors;
+
+    private Supplier<?> workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create("InputWorkload",
+                                    new Class<?>[] {String.class, int.class, int.class,
+                                        long.class},
+                                    input, taskCount, processors, Workloads.SEED);
+    }
+
+    @Benchmark
+    public Object runScheduler() {
+        return workload.get();
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the {@code SchedulerListener} hooks. {@code NONE} should match
+ * {@link SchedulerBenchmark} for the same strategy; the difference to {@code STATISTICS} is
+ * the price of counting every decision.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListenerOverheadBenchmark {
+    @Param({"PRIORITY", "ROUND_ROBIN"})
+    public String strategy;
+
+    @Param({"NONE", "STATISTICS"})
+    public String listener;
+
+    @Param({"10000"})
+    public int taskCount;
+
+    @Param({"4"})
+    public int processors;
+
+    private Supplier<?> workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create("InstrumentedWorkload",
+                                    new Class<?>[] {String.class, String.class, int.class,
+                                        int.class, long.class, long.class},
+                                    strategy, listener, taskCount, processors, 10L,
+                                    Workloads.SEED);
+    }
+
+    @Benchmark
+    public Object runScheduler() {
+        return workload.get();
+    }
+}
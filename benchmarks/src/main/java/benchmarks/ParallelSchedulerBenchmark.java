@@ -0,0 +1,60 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sequential scheduling against the segment-parallel scheduler on the same workload, at a
+ * utilisation where the system drains often and one where it rarely does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelSchedulerBenchmark {
+    @Param({"FCFS", "SJF"})
+    public String strategy;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    public String engine;
+
+    @Param({"1000000"})
+    public int taskCount;
+
+    @Param({"8"})
+    public int processors;
+
+    @Param({"70", "95"})
+    public int utilisation;
+
+    private Supplier<?> workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create("ParallelWorkload",
+                                    new Class<?>[] {String.class, int.class, int.class,
+                                        int.class, String.class, long.class},
+                                    strategy, taskCount, processors, utilisation, engine,
+                                    Workloads.SEED);
+    }
+
+    @Benchmark
+    public Object runScheduler() {
+        return workload.get();
+    }
+}
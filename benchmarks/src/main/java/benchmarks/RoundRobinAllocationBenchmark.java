@@ -0,0 +1,53 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocation of the round robin quantum loop. Every processor runs one task of
+ * {@code taskLength} with a quantum of 1, so a run has {@code taskLength * processors} quanta
+ * but only {@code processors} schedule entries. Run with the GC profiler: if the quantum loop
+ * does not allocate, {@code gc.alloc.rate.norm} stays the same for every task length.
+ * Since a task that is alone on its processor skips its quanta up to the next arrival in one
+ * step, the time per operation should not grow with the task length either.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundRobinAllocationBenchmark {
+    @Param({"1000", "100000"})
+    public long taskLength;
+
+    @Param({"1", "8"})
+    public int processors;
+
+    private Supplier<?> workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create("LongTaskWorkload",
+                                    new Class<?>[] {int.class, long.class, long.class},
+                                    processors, taskLength, 1L);
+    }
+
+    @Benchmark
+    public Object runScheduler() {
+        return workload.get();
+    }
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the round robin strategy over the quantum. Small quanta multiply the number
+ * of slices per task, so this is where per-quantum costs show up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundRobinQuantumBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    public long quantum;
+
+    @Param({"1000", "10000", "100000"})
+    public int taskCount;
+
+    @Param({"1", "8"})
+    public int processors;
+
+    @Param({"UNIFORM", "BURST"})
+    public String arrivals;
+
+    private Supplier<?> workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.scheduler("ROUND_ROBIN", taskCount, processors, arrivals, quantum);
+    }
+
+    @Benchmark
+    public Object runScheduler() {
+        return workload.get();
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 1000 point-in-time queries against a schedule, answered by a {@code ScheduleIndex} or by
+ * scanning the schedule list. The index should stay flat as the schedule grows; the scan
+ * grows linearly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleQueryBenchmark {
+    @Param({"INDEX", "SCAN"})
+    public String mode;
+
+    @Param({"10000", "100000"})
+    public int taskCount;
+
+    @Param({"8"})
+    public int processors;
+
+    private Supplier<?> workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create("ScheduleQueryWorkload",
+                                    new Class<?>[] {String.class, int.class, int.class,
+                                        long.class},
+                                    mode, taskCount, processors, Workloads.SEED);
+    }
+
+    @Benchmark
+    public Object runQueries() {
+        return workload.get();
+    }
+}
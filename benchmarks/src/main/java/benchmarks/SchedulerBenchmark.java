@@ -0,0 +1,54 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of every strategy through {@code SchedulerService.runScheduler} over task count,
+ * processor count and arrival pattern. Round robin runs with a fixed quantum here; see
+ * {@link RoundRobinQuantumBenchmark} for the quantum sweep.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerBenchmark {
+    @Param({"FCFS", "SJF", "PRIORITY", "PRIORITY_AGING", "SRTF", "ROUND_ROBIN", "MLFQ"})
+    public String strategy;
+
+    @Param({"1000", "10000", "100000"})
+    public int taskCount;
+
+    @Param({"1", "8", "64"})
+    public int processors;
+
+    @Param({"UNIFORM", "POISSON", "BURST"})
+    public String arrivals;
+
+    private Supplier<?> workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.scheduler(strategy, taskCount, processors, arrivals, 20);
+    }
+
+    @Benchmark
+    public Object runScheduler() {
+        return workload.get();
+    }
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates the workload drivers that live in the default package next to the scheduler.
+ */
+final class Workloads {
+    /** Seed shared by all benchmarks so every strategy sees the same tasks. */
+    static final long SEED = 42;
+
+    private Workloads() {
+    }
+
+    /**
+     * Instantiates a default-package workload class reflectively.
+     * @param className simple name of a class implementing {@link Supplier}
+     * @param parameterTypes constructor parameter types
+     * @param arguments constructor arguments
+     * @return the workload
+     * @throws IllegalStateException if the class cannot be instantiated
+     */
+    static Supplier<?> create(String className, Class<?>[] parameterTypes, Object... arguments) {
+        try {
+            return (Supplier<?>) Class.forName(className)
+                    .getConstructor(parameterTypes)
+                    .newInstance(arguments);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create workload " + className, e);
+        }
+    }
+
+    /**
+     * Creates a {@code SchedulerWorkload}.
+     * @param strategy strategy name
+     * @param taskCount number of tasks
+     * @param processors number of processors
+     * @param arrivals arrival pattern
+     * @param quantum round robin quantum
+     * @return the workload
+     */
+    static Supplier<?> scheduler(String strategy, int taskCount, int processors, String arrivals,
+                                 long quantum) {
+        return create("SchedulerWorkload",
+                      new Class<?>[] {String.class, int.class, int.class, String.class,
+                          long.class, long.class},
+                      strategy, taskCount, processors, arrivals, quantum, SEED);
+    }
+}
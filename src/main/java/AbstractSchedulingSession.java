@@ -0,0 +1,240 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bookkeeping shared by the scheduling sessions of all strategies: checks on submitted tasks,
+ * the queue of submitted tasks that have not been admitted yet, the clock, the queue of
+ * emitted ScheduledTasks and the processor timelines. Subclasses implement
+ * {@link #simulate(long)}.
+ */
+abstract class AbstractSchedulingSession implements SchedulingSession {
+    /** Submitted tasks that the simulation has not admitted yet, in arrival order. */
+    protected final ArrayDeque<Task> arrivals = new ArrayDeque<>();
+    private final ArrayDeque<ScheduledTask> emitted = new ArrayDeque<>();
+    private final List<Processor> processors;
+    private long currentTime;
+    private long lastArrivalTime;
+    private boolean finished;
+
+    /**
+     * Creates a session and clears the timelines of its processors.
+     * @param processors the processors to schedule on
+     * @param strategyName name of the strategy for error messages
+     * @throws IllegalArgumentException if there are no processors
+     */
+    protected AbstractSchedulingSession(List<Processor> processors, String strategyName) {
+        if (processors.isEmpty()) {
+            throw new IllegalArgumentException(strategyName
+                                               + " strategy requires at least one processor");
+        }
+        this.processors = processors;
+        for (Processor processor : processors) {
+            processor.clearSchedule();
+        }
+    }
+
+    @Override
+    public final void submit(Task task) {
+        checkNotFinished();
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        if (task.getLength() < 0) {
+            throw new IllegalArgumentException("Task " + task.getId()
+                                               + " has negative length: " + task.getLength());
+        }
+        if (task.getArrivalTime() < currentTime) {
+            throw new IllegalArgumentException("Task " + task.getId() + " arrives at "
+                                               + task.getArrivalTime()
+                                               + ", before the current time " + currentTime);
+        }
+        if (task.getArrivalTime() < lastArrivalTime) {
+            throw new IllegalArgumentException("Task " + task.getId() + " arrives at "
+                                               + task.getArrivalTime()
+                                               + ", before the previously submitted task");
+        }
+        lastArrivalTime = task.getArrivalTime();
+        arrivals.addLast(task);
+        taskSubmitted();
+    }
+
+    @Override
+    public final void advanceTo(long time) {
+        checkNotFinished();
+        if (time < currentTime) {
+            throw new IllegalArgumentException("Cannot advance to " + time
+                                               + ", current time is " + currentTime);
+        }
+        if (time >= Timeline.END_OF_TIME) {
+            throw new IllegalArgumentException("Cannot advance to the end of the timeline");
+        }
+        currentTime = time;
+        simulate(time);
+    }
+
+    @Override
+    public final void finish() {
+        if (!finished) {
+            finished = true;
+            simulate(Timeline.END_OF_TIME);
+        }
+    }
+
+    @Override
+    public final ScheduledTask poll() {
+        return emitted.pollFirst();
+    }
+
+    @Override
+    public final long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Makes every decision that takes effect before the limit. All tasks arriving before the
+     * limit have been submitted; tasks arriving at or after it may still follow.
+     * @param limit exclusive upper bound on the times of processed events
+     */
+    protected abstract void simulate(long limit);
+
+    /**
+     * Hook invoked after a task has been appended to {@link #arrivals}.
+     * Strategies whose decisions never depend on later arrivals can decide here right away.
+     */
+    protected void taskSubmitted() {
+    }
+
+    /**
+     * Emits a final ScheduledTask and records it on the timeline of its processor.
+     * A processor's executions must be emitted in start-time order.
+     * @param scheduledTask the ScheduledTask
+     */
+    protected final void emit(ScheduledTask scheduledTask) {
+        emitted.addLast(scheduledTask);
+        processors.get(scheduledTask.getProcessorId()).assign(scheduledTask);
+    }
+
+    private void checkNotFinished() {
+        if (finished) {
+            throw new IllegalStateException("Session is already finished");
+        }
+    }
+
+    /**
+     * Runs a complete batch through a session.
+     * @param session a fresh session
+     * @param sortedTasks the tasks, sorted by arrival time
+     * @return all emitted ScheduledTasks in order of emission
+     */
+    static List<ScheduledTask> scheduleAll(SchedulingSession session, List<Task> sortedTasks) {
+        for (Task task : sortedTasks) {
+            session.submit(task);
+        }
+        session.finish();
+
+        List<ScheduledTask> result = new ArrayList<>(sortedTasks.size());
+        ScheduledTask scheduledTask;
+        while ((scheduledTask = session.poll()) != null) {
+            result.add(scheduledTask);
+        }
+        return result;
+    }
+
+    /**
+     * Runs a complete batch through a session only for the timelines it records on its
+     * processors; the emitted ScheduledTasks are dropped, so they are never put in a list.
+     * @param session a fresh session
+     * @param sortedTasks the tasks, sorted by arrival time
+     */
+    static void scheduleOnProcessors(SchedulingSession session, List<Task> sortedTasks) {
+        for (Task task : sortedTasks) {
+            session.submit(task);
+        }
+        session.finish();
+
+        while (session.poll() != null) {
+            // The processors hold the executions
+        }
+    }
+
+    /**
+     * Runs a complete batch through a session of a strategy that runs tasks in slices. Slices
+     * are held back until they cannot grow, so the processors' streams only interleave in
+     * start-time order after merging them.
+     * @param strategy the strategy
+     * @param tasks the tasks (unsorted)
+     * @param processors the processors to schedule on
+     * @return the ScheduledTasks ordered by start time, then processor id
+     * @throws IllegalArgumentException if processors is empty
+     */
+    static List<ScheduledTask> scheduleSliced(Scheduler strategy, List<Task> tasks,
+                                              List<Processor> processors) {
+        SchedulingSession session = strategy.openSession(processors);
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Task> sortedTasks = SortedTaskList.sortedByArrival(tasks);
+        return mergeByStartTime(scheduleAll(session, sortedTasks), processors.size());
+    }
+
+    /**
+     * Orders the emissions of a session by start time, then processor id. Every processor's
+     * executions are emitted in start-time order, so this is a k-way merge of the processor
+     * streams: O(n log k) for k processors, and ties on one processor keep emission order
+     * exactly as a stable sort would.
+     * @param emitted the ScheduledTasks in order of emission
+     * @param nrProcessors the number of processors
+     * @return the ScheduledTasks ordered by start time, then processor id
+     */
+    static List<ScheduledTask> mergeByStartTime(List<ScheduledTask> emitted, int nrProcessors) {
+        // Processor p owns the positions from streamStart[p] up to streamStart[p + 1]
+        int[] streamStart = new int[nrProcessors + 1];
+        ScheduledTask[] streams = groupByProcessor(emitted, streamStart);
+
+        // The heap holds every processor with executions left, keyed by its next start time
+        IndexedHeap heads = new IndexedHeap(nrProcessors);
+        int[] position = streamStart.clone();
+        for (int p = 0; p < nrProcessors; p++) {
+            if (position[p] < streamStart[p + 1]) {
+                heads.add(p, streams[position[p]].getStartTime());
+            }
+        }
+        List<ScheduledTask> result = new ArrayList<>(streams.length);
+        while (!heads.isEmpty()) {
+            int p = heads.peek();
+            result.add(streams[position[p]++]);
+            if (position[p] < streamStart[p + 1]) {
+                heads.update(p, streams[position[p]].getStartTime());
+            } else {
+                heads.poll();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Groups emissions by processor with a counting sort, keeping their order per processor.
+     * @param emitted the ScheduledTasks in order of emission
+     * @param streamStart one more entry than there are processors, all 0; filled with the
+     *                    position of the first execution of every processor, followed by
+     *                    the total
+     * @return the executions of processor 0, then those of processor 1, and so on
+     */
+    private static ScheduledTask[] groupByProcessor(List<ScheduledTask> emitted,
+                                                    int[] streamStart) {
+        for (ScheduledTask scheduledTask : emitted) {
+            streamStart[scheduledTask.getProcessorId() + 1]++;
+        }
+        for (int p = 0; p + 1 < streamStart.length; p++) {
+            streamStart[p + 1] += streamStart[p];
+        }
+        int[] next = streamStart.clone();
+        ScheduledTask[] streams = new ScheduledTask[emitted.size()];
+        for (ScheduledTask scheduledTask : emitted) {
+            streams[next[scheduledTask.getProcessorId()]++] = scheduledTask;
+        }
+        return streams;
+    }
+}
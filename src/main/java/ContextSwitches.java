@@ -0,0 +1,80 @@
+/**
+ * Remembers the last slice on every processor of a session, to apply a {@link SwitchOverhead}
+ * to the slices that do not continue it and to report the switches.
+ */
+final class ContextSwitches {
+    private final SwitchOverhead overhead;
+    private final SchedulerListener listener;
+    private final Task[] lastTask;
+    private final long[] lastEnd;
+    
+    /**
+     * Creates the tracker of a session.
+     * @param overhead the overhead to apply
+     * @param nrProcessors number of processors of the session
+     * @param listener receives the switches and the delays
+     */
+    ContextSwitches(SwitchOverhead overhead, int nrProcessors, SchedulerListener listener) {
+        this.overhead = overhead;
+        this.listener = listener;
+        this.lastTask = new Task[nrProcessors];
+        this.lastEnd = new long[nrProcessors];
+    }
+    
+    /**
+     * Computes when a slice dispatched now begins: right away if it continues the last slice
+     * on the processor, after the overhead otherwise.
+     * @param processor the processor
+     * @param task the task dispatched
+     * @param time the dispatch time
+     * @return the start of the slice
+     * @throws ArithmeticException if the slice would start beyond {@code Long.MAX_VALUE}
+     */
+    long sliceStart(int processor, Task task, long time) {
+        Task previous = lastTask[processor];
+        if (previous != null && !previous.equals(task)) {
+            listener.contextSwitched(processor, previous.getId(), task.getId(), time);
+        }
+        long delay = delayOf(processor, task, time);
+        if (delay > 0) {
+            listener.dispatchDelayed(processor, task.getId(), time, delay);
+        }
+        return Timeline.add(time, delay);
+    }
+    
+    /**
+     * Computes when a slice dispatched now would begin, like {@link #sliceStart} but without
+     * reporting anything.
+     * @param processor the processor
+     * @param task the task to dispatch
+     * @param time the dispatch time
+     * @return the start of the slice
+     * @throws ArithmeticException if the slice would start beyond {@code Long.MAX_VALUE}
+     */
+    long startOf(int processor, Task task, long time) {
+        return Timeline.add(time, delayOf(processor, task, time));
+    }
+    
+    private long delayOf(int processor, Task task, long time) {
+        Task previous = lastTask[processor];
+        if (previous == null) {
+            return overhead.getDispatchLatency(processor);
+        }
+        if (!previous.equals(task)) {
+            return Timeline.add(overhead.getDispatchLatency(processor),
+                                overhead.getContextSwitchCost());
+        }
+        return lastEnd[processor] == time ? 0 : overhead.getDispatchLatency(processor);
+    }
+    
+    /**
+     * Records that a slice on a processor ended.
+     * @param processor the processor
+     * @param task the task that ran
+     * @param time the end of the slice
+     */
+    void sliceEnded(int processor, Task task, long time) {
+        lastTask[processor] = task;
+        lastEnd[processor] = time;
+    }
+}
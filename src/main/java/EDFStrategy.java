@@ -0,0 +1,125 @@
+import java.util.List;
+
+/**
+ * Class for the (Preemptive) Earliest Deadline First Strategy.
+ *
+ * With several processors the strategy is globally preemptive: at any moment the processors
+ * run the arrived tasks with the earliest deadlines (earlier arrival wins ties). Tasks without
+ * a deadline run after all tasks that have one, first come, first served. Migration rules:
+ * 1. A running task keeps its processor until it completes or is preempted
+ * 2. An arriving task with an earlier deadline than the latest running deadline preempts
+ *    that task in place
+ * 3. A preempted task resumes on the processor it last ran on if that one is idle,
+ *    otherwise on the idle processor with the lowest id
+ *
+ * A task that completes after its deadline still runs to completion; it is reported to the
+ * listener through {@link SchedulerListener#deadlineMissed}, and
+ * {@link ScheduleMetrics#getMissedDeadlineCount()} counts it for any schedule.
+ */
+public class EDFStrategy implements Scheduler {
+    /** Delay of the slices that do not continue the previous one on their processor. */
+    private final SwitchOverhead overhead;
+    /** Receives the scheduling decisions. */
+    private final SchedulerListener listener;
+    
+    /**
+     * Constructor for the EDF Strategy without instrumentation.
+     */
+    public EDFStrategy() {
+        this(SchedulerListener.NONE);
+    }
+    
+    /**
+     * Constructor for the EDF Strategy reporting its decisions and missed deadlines to a
+     * listener.
+     * @param listener receives dispatches, preemptions, completions, merges and missed deadlines
+     * @throws IllegalArgumentException if listener is null
+     */
+    public EDFStrategy(SchedulerListener listener) {
+        this(SwitchOverhead.NONE, listener);
+    }
+    
+    /**
+     * Constructor for the EDF Strategy with context-switch and dispatch overhead.
+     * @param overhead delay of the slices that do not continue the previous one on their
+     *                 processor
+     * @param listener receives dispatches, preemptions, completions, merges, missed deadlines,
+     *                 context switches and dispatch delays
+     * @throws IllegalArgumentException if overhead or listener is null
+     */
+    public EDFStrategy(SwitchOverhead overhead, SchedulerListener listener) {
+        if (overhead == null) {
+            throw new IllegalArgumentException("Overhead cannot be null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.overhead = overhead;
+        this.listener = listener;
+    }
+    
+    /**
+     * A method to schedule a list of incoming tasks by their deadlines.
+     * @param tasks incoming tasks (unsorted)
+     * @param processors list of available processors (at least one)
+     * @return a list of ScheduledTasks sorted on start time, then processor id
+     * @throws IllegalArgumentException if processors is empty
+     */
+    @Override
+    public List<ScheduledTask> schedule(List<Task> tasks, List<Processor> processors) {
+        return AbstractSchedulingSession.scheduleSliced(this, tasks, processors);
+    }
+    
+    /**
+     * Opens an EDF session. An execution is emitted once its task is preempted or completes
+     * and the next execution on that processor is not a direct continuation of it.
+     * @param processors list of available processors (at least one)
+     * @return a new session
+     * @throws IllegalArgumentException if processors is empty
+     */
+    @Override
+    public SchedulingSession openSession(List<Processor> processors) {
+        return new Session(processors, overhead, listener);
+    }
+    
+    /**
+     * Global preemptive EDF: tasks are keyed by deadline, and the running task with the
+     * latest deadline is the first to be preempted.
+     */
+    private static final class Session extends PreemptiveSession {
+        Session(List<Processor> processors, SwitchOverhead overhead,
+                SchedulerListener listener) {
+            super(processors, "EDF", overhead, listener);
+        }
+        
+        @Override
+        protected long readyKey(TaskState task) {
+            return task.task.getDeadline();
+        }
+        
+        @Override
+        protected long preemptionKey(TaskState task, long completionTime) {
+            return -task.task.getDeadline();
+        }
+        
+        /**
+         * A waiting task preempts if it has an earlier deadline, or the same deadline and
+         * arrived first.
+         */
+        @Override
+        protected boolean preempts(TaskState waiting, TaskState running, long time,
+                                   long runningRemainingTime) {
+            if (waiting.task.getDeadline() != running.task.getDeadline()) {
+                return waiting.task.getDeadline() < running.task.getDeadline();
+            }
+            return waiting.sequence < running.sequence;
+        }
+        
+        @Override
+        protected void taskCompleted(int processor, Task task, long time) {
+            if (time > task.getDeadline()) {
+                listener.deadlineMissed(processor, task.getId(), time, task.getDeadline());
+            }
+        }
+    }
+}
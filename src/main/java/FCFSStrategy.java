@@ -1,3 +1,4 @@
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -8,7 +9,28 @@ import java.util.ArrayList;
  * <!--//# END TODO-->
  */
 public class FCFSStrategy implements Scheduler {
-
+    /** Receives the scheduling decisions. */
+    private final SchedulerListener listener;
+    
+    /**
+     * Constructor for the FCFS Strategy without instrumentation.
+     */
+    public FCFSStrategy() {
+        this(SchedulerListener.NONE);
+    }
+    
+    /**
+     * Constructor for the FCFS Strategy reporting its decisions to a listener.
+     * @param listener receives dispatches, preemptions, completions and merges
+     * @throws IllegalArgumentException if listener is null
+     */
+    public FCFSStrategy(SchedulerListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.listener = listener;
+    }
+    
     /**
      * A method to schedule a list of tasks on a list of tasks based on FCFS.
      * @param tasks incoming tasks (unsorted)
@@ -17,42 +39,436 @@ public class FCFSStrategy implements Scheduler {
      */
     @Override
     public List<ScheduledTask> schedule(List<Task> tasks, List<Processor> processors) {
-        List<ScheduledTask> result = new ArrayList<>();
         if (tasks.isEmpty()) {
-            return result;
+            return new ArrayList<>();
         }
         
         // Sort tasks by arrival time (FCFS - first come, first served)
-        List<Task> sortedTasks = new ArrayList<>(tasks);
-        sortedTasks.sort((t1, t2) -> Integer.compare(t1.getArrivalTime(), t2.getArrivalTime()));
-        
-        // Track when each processor becomes free
-        int[] processorFreeTime = new int[processors.size()];
-        
-        for (Task task : sortedTasks) {
-            // Find the processor that will be free earliest
-            int earliestProcessor = 0;
-            for (int i = 1; i < processors.size(); i++) {
-                if (processorFreeTime[i] < processorFreeTime[earliestProcessor]) {
-                    earliestProcessor = i;
-                }
+        List<Task> sortedTasks = SortedTaskList.sortedByArrival(tasks);
+        
+        // Tasks are assigned in arrival order, so start times never decrease: the emission
+        // order is already the start-time order
+        return AbstractSchedulingSession.scheduleAll(openSession(processors), sortedTasks);
+    }
+    
+    /**
+     * Schedules a columnar batch without creating task objects.
+     * @param tasks incoming tasks (unsorted)
+     * @param nrProcessors the number of processors
+     * @return the schedule ordered by start time
+     * @throws IllegalArgumentException if there are tasks but no processors
+     */
+    @Override
+    public ScheduleBatch schedule(TaskBatch tasks, int nrProcessors) {
+        ScheduleBatch result = new ScheduleBatch(tasks.size());
+        if (tasks.isEmpty()) {
+            return result;
+        }
+        if (nrProcessors < 1) {
+            throw new IllegalArgumentException("FCFS strategy requires at least one processor");
+        }
+        
+        int[] order = tasks.arrivalOrder();
+        Engine engine = new Engine(new BatchPositions(tasks, order, result, listener),
+                                   nrProcessors);
+        for (int position = 0; position < order.length; position++) {
+            engine.submit(position);
+        }
+        return result;
+    }
+    
+    /**
+     * Opens an FCFS session. A task is assigned as soon as it is submitted, because later
+     * arrivals can never overtake it.
+     * @param processors list of available processors
+     * @return a new session
+     * @throws IllegalArgumentException if processors is empty
+     */
+    @Override
+    public SchedulingSession openSession(List<Processor> processors) {
+        return new Session(processors, listener);
+    }
+    
+    /**
+     * Returns the kernels that let {@link ParallelScheduler} simulate this strategy in
+     * segments. An instrumented strategy is not split, because its listener expects the
+     * events of one sequential run.
+     * @return the kernel factory, or null if the strategy reports to a listener
+     */
+    SegmentKernel.Factory segmentKernels() {
+        return listener == SchedulerListener.NONE ? Kernel::new : null;
+    }
+    
+    /**
+     * FCFS over positions in arrival order: the decisions of the batch path, the session and
+     * the segment kernel, which only feed it positions and receive its dispatches. A position
+     * goes to the processor that is free earliest as soon as it is submitted, because later
+     * arrivals can never overtake it; tasks are assigned in arrival order, so start times
+     * never decrease.
+     */
+    static final class Engine {
+        /**
+         * The tasks of an engine, by position in arrival order, and the receiver of its
+         * decisions.
+         */
+        interface Positions {
+            /**
+             * Returns the arrival time of the position being submitted.
+             * @param position the position
+             * @return its arrival time
+             */
+            long arrivalTime(long position);
+            
+            /**
+             * Returns the length of the position being submitted.
+             * @param position the position
+             * @return its length
+             */
+            long length(long position);
+            
+            /**
+             * Receives a dispatch; the task runs from startTime to endTime.
+             * @param position the position
+             * @param processorId the processor it runs on
+             * @param startTime its start time
+             * @param endTime its end time
+             */
+            void dispatched(long position, int processorId, long startTime, long endTime);
+        }
+        
+        private final Positions positions;
+        /** Processors keyed by the time they become free (lowest id first on ties). */
+        final IndexedHeap processorFreeTime;
+        
+        /**
+         * Creates an engine with every processor free at time 0.
+         * @param positions the tasks and the receiver of the dispatches
+         * @param nrProcessors the number of processors
+         */
+        Engine(Positions positions, int nrProcessors) {
+            this.positions = positions;
+            processorFreeTime = new IndexedHeap(nrProcessors);
+            for (int i = 0; i < nrProcessors; i++) {
+                processorFreeTime.add(i, 0);
             }
+        }
+        
+        /**
+         * Assigns the next position to the processor that is free earliest.
+         * @param position the position
+         * @throws ArithmeticException if the task would end beyond {@code Long.MAX_VALUE}
+         */
+        void submit(long position) {
+            // The processor that will be free earliest is on top of the heap
+            int earliestProcessor = processorFreeTime.peek();
             
             // Task starts when both it has arrived and processor is free
-            int startTime = Math.max(task.getArrivalTime(), processorFreeTime[earliestProcessor]);
-            int endTime = (int) (startTime + task.getLength());
-            
-            ScheduledTask scheduledTask = new ScheduledTask(task, earliestProcessor, 
-                                                            startTime, endTime);
-            result.add(scheduledTask);
+            long startTime = Math.max(positions.arrivalTime(position),
+                                      processorFreeTime.peekKey());
+            long endTime = Timeline.add(startTime, positions.length(position));
+            positions.dispatched(position, earliestProcessor, startTime, endTime);
             
             // Update when this processor becomes free
-            processorFreeTime[earliestProcessor] = endTime;
+            processorFreeTime.update(earliestProcessor, endTime);
+        }
+    }
+    
+    /**
+     * Feeds a columnar batch to the engine and records its dispatches.
+     */
+    private static final class BatchPositions implements Engine.Positions {
+        private final TaskBatch tasks;
+        /** Index of the task at every position. */
+        private final int[] order;
+        private final ScheduleBatch result;
+        private final SchedulerListener listener;
+        
+        BatchPositions(TaskBatch tasks, int[] order, ScheduleBatch result,
+                       SchedulerListener listener) {
+            this.tasks = tasks;
+            this.order = order;
+            this.result = result;
+            this.listener = listener;
         }
         
-        // Sort result by start time
-        result.sort((st1, st2) -> Integer.compare(st1.getStartTime(), st2.getStartTime()));
+        @Override
+        public long arrivalTime(long position) {
+            return tasks.getArrivalTime(order[(int) position]);
+        }
         
-        return result;
+        @Override
+        public long length(long position) {
+            return tasks.getLength(order[(int) position]);
+        }
+        
+        @Override
+        public void dispatched(long position, int processorId, long startTime, long endTime) {
+            int index = order[(int) position];
+            result.add(index, processorId, startTime, endTime);
+            listener.taskDispatched(processorId, tasks.getId(index), startTime, 0);
+            listener.taskCompleted(processorId, tasks.getId(index), endTime);
+        }
+    }
+    
+    /**
+     * The engine over the positions of a workload.
+     *
+     * After a drain the times of the schedule do not depend on the past, but the processors
+     * do: the next tasks go to the processors in order of the time they became free. A fresh
+     * kernel uses its own names, and adopting its decisions maps the k-th processor to free
+     * up under its names to the k-th one of the true schedule. Processors that became free at
+     * the same time are picked by id, which the renaming does not preserve, so a fresh kernel
+     * records those ties and the adoption replays them under the true names.
+     */
+    static final class Kernel extends SegmentKernel implements Engine.Positions {
+        private final Engine engine;
+        private final boolean recordsDecisions;
+        private long latestFreeTime;
+        /** First position submitted, or -1. */
+        private int firstPosition = -1;
+        /** Buffer for the processors tied on the earliest free time, or null. */
+        private final int[] minima;
+        /** Tie i: at tiePositions[i] all processors in tieMembers[tieStarts[i] ..
+         *  tieStarts[i + 1]] were free at tieTimes[i]. */
+        private int[] tiePositions;
+        private long[] tieTimes;
+        private int[] tieStarts;
+        private int[] tieMembers;
+        private int tieCount;
+        
+        Kernel(Workload workload, boolean fresh) {
+            this(workload, fresh, true);
+        }
+        
+        private Kernel(Workload workload, boolean recordsTies, boolean recordsDecisions) {
+            super(workload, false);
+            this.recordsDecisions = recordsDecisions;
+            engine = new Engine(this, workload.nrProcessors);
+            if (recordsTies) {
+                minima = new int[workload.nrProcessors];
+                tiePositions = new int[16];
+                tieTimes = new long[16];
+                tieStarts = new int[17];
+                tieMembers = new int[64];
+            } else {
+                minima = null;
+            }
+        }
+        
+        @Override
+        void submit(int position) {
+            if (firstPosition < 0) {
+                firstPosition = position;
+            }
+            if (minima != null) {
+                recordTie(position, engine.processorFreeTime.peekKey());
+            }
+            engine.submit(position);
+        }
+        
+        @Override
+        public long arrivalTime(long position) {
+            return workload.arrivalTimes[(int) position];
+        }
+        
+        @Override
+        public long length(long position) {
+            return workload.lengths[(int) position];
+        }
+        
+        @Override
+        public void dispatched(long position, int processorId, long startTime, long endTime) {
+            if (recordsDecisions) {
+                dispatch((int) position, processorId, startTime);
+            }
+            latestFreeTime = Math.max(latestFreeTime, endTime);
+        }
+        
+        private void recordTie(int position, long freeTime) {
+            int count = engine.processorFreeTime.collectMinima(minima);
+            if (count < 2) {
+                return;
+            }
+            if (tieCount == tiePositions.length) {
+                tiePositions = Arrays.copyOf(tiePositions, tieCount * 2);
+                tieTimes = Arrays.copyOf(tieTimes, tieCount * 2);
+                tieStarts = Arrays.copyOf(tieStarts, tieCount * 2 + 1);
+            }
+            int start = tieStarts[tieCount];
+            if (start + count > tieMembers.length) {
+                tieMembers = Arrays.copyOf(tieMembers, Math.max(tieMembers.length * 2,
+                                                                start + count));
+            }
+            System.arraycopy(minima, 0, tieMembers, start, count);
+            tiePositions[tieCount] = position;
+            tieTimes[tieCount] = freeTime;
+            tieStarts[++tieCount] = start + count;
+        }
+        
+        @Override
+        void advanceTo(long time) {
+            // Every task has been assigned on submission
+        }
+        
+        @Override
+        void finish() {
+            // Every task has been assigned on submission
+        }
+        
+        @Override
+        boolean isDrained(long time) {
+            // Strictly before: a processor free at the time itself would tie with the
+            // processors that run the tasks arriving then
+            return latestFreeTime < time;
+        }
+        
+        @Override
+        SegmentKernel adopt(SegmentKernel fresh, int position, int end) {
+            Kernel other = (Kernel) fresh;
+            long drainTime = workload.arrivalTimes[position];
+            int nrProcessors = workload.nrProcessors;
+            
+            // The k-th processor to become free under the fresh names is the k-th one here
+            int[] freshOrder = other.freeOrderAt(position);
+            int[] trueOrder = freeOrder(engine.processorFreeTime);
+            int[] names = new int[nrProcessors];
+            for (int k = 0; k < nrProcessors; k++) {
+                names[freshOrder[k]] = trueOrder[k];
+            }
+            other.renameProcessors(position, end, names);
+            
+            for (int processor = 0; processor < nrProcessors; processor++) {
+                long freeTime = other.engine.processorFreeTime.keyOf(processor);
+                if (freeTime >= drainTime) {
+                    engine.processorFreeTime.update(names[processor], freeTime);
+                }
+            }
+            latestFreeTime = Math.max(latestFreeTime, other.latestFreeTime);
+            return this;
+        }
+        
+        /**
+         * Gives the positions this kernel decided their true processors.
+         * @param position the position this kernel was drained at
+         * @param end the end of its segment (exclusive)
+         * @param names true id per processor of this kernel; updated on ties
+         */
+        private void renameProcessors(int position, int end, int[] names) {
+            long drainTime = workload.arrivalTimes[position];
+            // Processors that ran a task since the drain have the same free time under both
+            // names, so on a tie the true schedule picks the tied processor with the lowest
+            // true id; renaming that one to the fresh pick keeps the states equal
+            int tie = Arrays.binarySearch(tiePositions, 0, tieCount, position);
+            if (tie < 0) {
+                tie = -tie - 1;
+            }
+            int[] processorIds = workload.processorIds;
+            for (int p = position; p < end; p++) {
+                int freshProcessor = processorIds[p];
+                if (tie < tieCount && tiePositions[tie] == p) {
+                    if (tieTimes[tie] >= drainTime) {
+                        replayTie(tie, freshProcessor, names);
+                    }
+                    tie++;
+                }
+                processorIds[p] = names[freshProcessor];
+            }
+        }
+        
+        /**
+         * Renames the processors of a recorded tie so that the fresh pick carries the lowest
+         * true id among the tied processors, which is the one the true schedule picks.
+         * @param tie index of the tie
+         * @param freshProcessor the processor this kernel picked
+         * @param names true id per processor of this kernel; updated
+         */
+        private void replayTie(int tie, int freshProcessor, int[] names) {
+            int lowest = freshProcessor;
+            for (int i = tieStarts[tie]; i < tieStarts[tie + 1]; i++) {
+                if (names[tieMembers[i]] < names[lowest]) {
+                    lowest = tieMembers[i];
+                }
+            }
+            int name = names[lowest];
+            names[lowest] = names[freshProcessor];
+            names[freshProcessor] = name;
+        }
+        
+        /**
+         * Lists the processors in the order they became free when the task at a position
+         * arrived, replaying the tasks before it if needed.
+         * @param position a position this kernel was drained at
+         * @return the processors by free time, then id
+         */
+        private int[] freeOrderAt(int position) {
+            if (position == firstPosition) {
+                int[] order = new int[workload.nrProcessors];
+                Arrays.setAll(order, processor -> processor);
+                return order;
+            }
+            Kernel replay = new Kernel(workload, false, false);
+            for (int p = firstPosition; p < position; p++) {
+                replay.submit(p);
+            }
+            return freeOrder(replay.engine.processorFreeTime);
+        }
+        
+        private static int[] freeOrder(IndexedHeap freeTimes) {
+            int nrProcessors = freeTimes.size();
+            IndexedHeap copy = new IndexedHeap(nrProcessors);
+            for (int processor = 0; processor < nrProcessors; processor++) {
+                copy.add(processor, freeTimes.keyOf(processor));
+            }
+            int[] order = new int[nrProcessors];
+            for (int k = 0; k < nrProcessors; k++) {
+                order[k] = copy.poll();
+            }
+            return order;
+        }
+    }
+    
+    /**
+     * Incremental FCFS: the engine over the submitted tasks, numbered in order of submission.
+     * Every task is assigned as it is submitted, while it is the head of the arrivals.
+     */
+    private static final class Session extends AbstractSchedulingSession
+            implements Engine.Positions {
+        private final Engine engine;
+        private final SchedulerListener listener;
+        private long submitted;
+        
+        Session(List<Processor> processors, SchedulerListener listener) {
+            super(processors, "FCFS");
+            this.listener = listener;
+            engine = new Engine(this, processors.size());
+        }
+        
+        @Override
+        protected void taskSubmitted() {
+            engine.submit(submitted++);
+        }
+        
+        @Override
+        protected void simulate(long limit) {
+            // Every task has been assigned on submission
+        }
+        
+        @Override
+        public long arrivalTime(long position) {
+            return arrivals.peekFirst().getArrivalTime();
+        }
+        
+        @Override
+        public long length(long position) {
+            return arrivals.peekFirst().getLength();
+        }
+        
+        @Override
+        public void dispatched(long position, int processorId, long startTime, long endTime) {
+            Task task = arrivals.pollFirst();
+            emit(new ScheduledTask(task, processorId, startTime, endTime));
+            listener.taskDispatched(processorId, task.getId(), startTime, 0);
+            listener.taskCompleted(processorId, task.getId(), endTime);
+        }
     }
-}
\ No newline at end of file
+}
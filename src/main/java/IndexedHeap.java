@@ -0,0 +1,215 @@
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap over the elements {@code 0 .. capacity - 1}, ordered by a long key,
+ * then by an optional long tie-breaker and finally by the smaller element, so with processor
+ * indices as elements the lowest processor id wins remaining ties. Unlike {@link KeyedHeap},
+ * every element can be looked up, re-keyed or removed in O(log n), which the strategies need
+ * for processors whose state changes while they are in the heap.
+ */
+final class IndexedHeap {
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] keys;
+    private final long[] tieBreakers;
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     * @param capacity number of distinct elements; elements range over {@code 0 .. capacity - 1}
+     */
+    IndexedHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new long[capacity];
+        this.tieBreakers = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int element) {
+        return positions[element] >= 0;
+    }
+
+    /**
+     * Returns the current key of an element.
+     * @pre {@code contains(element)}
+     * @param element the element
+     * @return its key
+     */
+    long keyOf(int element) {
+        return keys[element];
+    }
+
+    /**
+     * Returns the element with the smallest key.
+     * @pre {@code !isEmpty()}
+     * @return the minimum element
+     */
+    int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Returns the smallest key.
+     * @pre {@code !isEmpty()}
+     * @return the key of the minimum element
+     */
+    long peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes and returns the element with the smallest key.
+     * @pre {@code !isEmpty()}
+     * @return the removed element
+     */
+    int poll() {
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    /**
+     * Collects every element that ties with the minimum on key and tie-breaker, the minimum
+     * itself included. The tied elements form a subtree at the root, so this costs
+     * O(number of ties).
+     * @param buffer receives the elements; must hold up to {@code size()} of them
+     * @return the number of elements written
+     */
+    int collectMinima(int[] buffer) {
+        if (size == 0) {
+            return 0;
+        }
+        int top = heap[0];
+        int count = 0;
+        buffer[count++] = 0;
+        // Breadth-first over heap positions, then the positions are replaced by the elements
+        for (int i = 0; i < count; i++) {
+            int child = 2 * buffer[i] + 1;
+            for (int end = Math.min(child + 2, size); child < end; child++) {
+                int element = heap[child];
+                if (keys[element] == keys[top] && tieBreakers[element] == tieBreakers[top]) {
+                    buffer[count++] = child;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            buffer[i] = heap[buffer[i]];
+        }
+        return count;
+    }
+
+    /**
+     * Inserts an element.
+     * @pre {@code !contains(element)}
+     * @param element the element to insert
+     * @param key its key
+     */
+    void add(int element, long key) {
+        add(element, key, 0);
+    }
+
+    /**
+     * Inserts an element with a tie-breaker for equal keys.
+     * @pre {@code !contains(element)}
+     * @param element the element to insert
+     * @param key its key
+     * @param tieBreaker orders elements with equal keys (smaller first)
+     */
+    void add(int element, long key, long tieBreaker) {
+        keys[element] = key;
+        tieBreakers[element] = tieBreaker;
+        heap[size] = element;
+        positions[element] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Changes the key of an element that is in the heap; its tie-breaker is kept.
+     * @pre {@code contains(element)}
+     * @param element the element to re-key
+     * @param key its new key
+     */
+    void update(int element, long key) {
+        keys[element] = key;
+        int position = positions[element];
+        siftUp(position);
+        siftDown(positions[element]);
+    }
+
+    /**
+     * Removes an element from the heap.
+     * @pre {@code contains(element)}
+     * @param element the element to remove
+     */
+    void remove(int element) {
+        int position = positions[element];
+        positions[element] = -1;
+        size--;
+        if (position == size) {
+            return;
+        }
+        int last = heap[size];
+        heap[position] = last;
+        positions[last] = position;
+        siftUp(position);
+        siftDown(positions[last]);
+    }
+
+    private boolean less(int element1, int element2) {
+        long key1 = keys[element1];
+        long key2 = keys[element2];
+        if (key1 != key2) {
+            return key1 < key2;
+        }
+        long tieBreaker1 = tieBreakers[element1];
+        long tieBreaker2 = tieBreakers[element2];
+        return tieBreaker1 < tieBreaker2 || (tieBreaker1 == tieBreaker2 && element1 < element2);
+    }
+
+    private void siftUp(int position) {
+        int i = position;
+        int element = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(element, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            positions[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = element;
+        positions[element] = i;
+    }
+
+    private void siftDown(int position) {
+        int i = position;
+        int element = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], element)) {
+                break;
+            }
+            heap[i] = heap[child];
+            positions[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = element;
+        positions[element] = i;
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.Arrays;
+
+/**
+ * Array-backed double-ended queue of ints (a ring buffer that doubles when full).
+ * Unlike {@code ArrayDeque<Integer>} or {@code LinkedList}, adding and removing never allocates
+ * once the buffer has reached its working size.
+ */
+final class IntDeque {
+    private int[] elements;
+    private int head;
+    private int size;
+    
+    /**
+     * Creates an empty deque.
+     * @param initialCapacity expected number of elements (grows when exceeded)
+     */
+    IntDeque(int initialCapacity) {
+        this.elements = new int[Math.max(1, initialCapacity)];
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Appends an element at the tail.
+     * @param element the element
+     */
+    void addLast(int element) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[index(size)] = element;
+        size++;
+    }
+    
+    /**
+     * Returns the element at the head.
+     * @pre {@code !isEmpty()}
+     * @return the first element
+     */
+    int peekFirst() {
+        return elements[head];
+    }
+    
+    /**
+     * Removes the element at the head.
+     * @pre {@code !isEmpty()}
+     * @return the removed element
+     */
+    int pollFirst() {
+        int element = elements[head];
+        head = index(1);
+        size--;
+        return element;
+    }
+    
+    /**
+     * Removes the element at the tail.
+     * @pre {@code !isEmpty()}
+     * @return the removed element
+     */
+    int pollLast() {
+        size--;
+        return elements[index(size)];
+    }
+    
+    private int index(int offset) {
+        int i = head + offset;
+        return i < elements.length ? i : i - elements.length;
+    }
+    
+    private void grow() {
+        int[] grown = Arrays.copyOf(elements, elements.length * 2);
+        // Unwrap: the part before head moves behind the old end
+        System.arraycopy(elements, 0, grown, elements.length, head);
+        elements = grown;
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of values ordered by a long key and then by a long sequence number.
+ * The strategies use the arrival sequence of a task as the sequence number, which gives
+ * them a deterministic tie-breaker (earliest arrival first) without boxing the keys.
+ *
+ * @param <T> type of the values
+ */
+final class KeyedHeap<T> {
+    private long[] keys;
+    private long[] sequences;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     * @param initialCapacity expected number of entries (grows when exceeded)
+     */
+    KeyedHeap(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.keys = new long[capacity];
+        this.sequences = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the key of the minimum entry.
+     * @pre {@code !isEmpty()}
+     * @return the smallest key
+     */
+    long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Returns the value of the minimum entry.
+     * @pre {@code !isEmpty()}
+     * @return the value belonging to the smallest key
+     */
+    @SuppressWarnings("unchecked")
+    T peek() {
+        return (T) values[0];
+    }
+
+    /**
+     * Returns the sequence number of the minimum entry.
+     * @pre {@code !isEmpty()}
+     * @return the sequence number belonging to the smallest key
+     */
+    long peekSequence() {
+        return sequences[0];
+    }
+
+    /**
+     * Inserts an entry.
+     * @param key ordering key
+     * @param sequence tie-breaker on equal keys (smaller first)
+     * @param value payload
+     */
+    void add(long key, long sequence, T value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            sequences = Arrays.copyOf(sequences, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        siftUp(size, key, sequence, value);
+        size++;
+    }
+
+    /**
+     * Removes the minimum entry.
+     * @pre {@code !isEmpty()}
+     * @return the value of the removed entry
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        T top = (T) values[0];
+        size--;
+        if (size > 0) {
+            siftDown(0, keys[size], sequences[size], values[size]);
+        }
+        values[size] = null;
+        return top;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    private boolean less(long key1, long sequence1, long key2, long sequence2) {
+        return key1 < key2 || (key1 == key2 && sequence1 < sequence2);
+    }
+
+    private void siftUp(int index, long key, long sequence, Object value) {
+        int i = index;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(key, sequence, keys[parent], sequences[parent])) {
+                break;
+            }
+            keys[i] = keys[parent];
+            sequences[i] = sequences[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        sequences[i] = sequence;
+        values[i] = value;
+    }
+
+    private void siftDown(int index, long key, long sequence, Object value) {
+        int i = index;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size
+                && less(keys[right], sequences[right], keys[child], sequences[child])) {
+                child = right;
+            }
+            if (!less(keys[child], sequences[child], key, sequence)) {
+                break;
+            }
+            keys[i] = keys[child];
+            sequences[i] = sequences[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        sequences[i] = sequence;
+        values[i] = value;
+    }
+}
@@ -0,0 +1,257 @@
+import java.util.List;
+
+/**
+ * Class for the Multilevel Feedback Queue Strategy.
+ *
+ * Tasks move between priority levels, level 0 being the highest, based on how they use the
+ * processor, so short interactive tasks finish quickly behind long-running ones:
+ * 1. An arriving task enters level 0
+ * 2. Every level has a time allotment (its quantum); a task that uses up the allotment of its
+ *    level is demoted one level and goes to the back of that level's queue. The lowest level
+ *    is round robin with its quantum
+ * 3. Within a level tasks are served in queue order; a task always joins the back of a queue
+ * 4. With several processors the strategy is globally preemptive: a waiting task on a higher
+ *    level preempts the running task on the lowest level (latest queued first). A preempted
+ *    task keeps the rest of its allotment and rejoins the back of its level's queue
+ * 5. Every boost period all tasks, running or waiting, move back to level 0 with a fresh
+ *    allotment, so long tasks cannot starve
+ * 6. A task resumes on the processor it last ran on if that one is idle, otherwise on the
+ *    idle processor with the lowest id; consecutive executions of the same task on a
+ *    processor are merged
+ */
+public class MLFQStrategy implements Scheduler {
+    /** Time allotment per level, from the highest level to the lowest. */
+    private final long[] quanta;
+    /** Time between two boosts to level 0. */
+    private final long boostPeriod;
+    /** Delay of the slices that do not continue the previous one on their processor. */
+    private final SwitchOverhead overhead;
+    /** Receives the scheduling decisions. */
+    private final SchedulerListener listener;
+    
+    /**
+     * Constructor for the MLFQ Strategy.
+     *
+     * @param quanta the allotment of every level, highest level first (each positive)
+     * @param boostPeriod time between boosts to level 0 (positive); pass
+     *                    {@link Timeline#END_OF_TIME} to never boost
+     * @throws IllegalArgumentException if there are no levels, an allotment is not positive
+     *                                  or the boost period is not positive
+     */
+    public MLFQStrategy(long[] quanta, long boostPeriod) {
+        this(quanta, boostPeriod, SchedulerListener.NONE);
+    }
+    
+    /**
+     * Constructor for the MLFQ Strategy reporting its decisions to a listener.
+     *
+     * @param quanta the allotment of every level, highest level first (each positive)
+     * @param boostPeriod time between boosts to level 0 (positive); pass
+     *                    {@link Timeline#END_OF_TIME} to never boost
+     * @param listener receives dispatches, preemptions, completions and merges
+     * @throws IllegalArgumentException if there are no levels, an allotment is not positive,
+     *                                  the boost period is not positive or listener is null
+     */
+    public MLFQStrategy(long[] quanta, long boostPeriod, SchedulerListener listener) {
+        this(quanta, boostPeriod, SwitchOverhead.NONE, listener);
+    }
+    
+    /**
+     * Constructor for the MLFQ Strategy with context-switch and dispatch overhead. The
+     * overhead delays a slice but is not charged to the allotment of its task.
+     *
+     * @param quanta the allotment of every level, highest level first (each positive)
+     * @param boostPeriod time between boosts to level 0 (positive); pass
+     *                    {@link Timeline#END_OF_TIME} to never boost
+     * @param overhead delay of the slices that do not continue the previous one on their
+     *                 processor
+     * @param listener receives dispatches, preemptions, completions, merges, context switches
+     *                 and dispatch delays
+     * @throws IllegalArgumentException if there are no levels, an allotment is not positive,
+     *                                  the boost period is not positive, or overhead or
+     *                                  listener is null
+     */
+    public MLFQStrategy(long[] quanta, long boostPeriod, SwitchOverhead overhead,
+                        SchedulerListener listener) {
+        validateQuanta(quanta);
+        if (boostPeriod <= 0) {
+            throw new IllegalArgumentException("Boost period must be positive, got: "
+                                               + boostPeriod);
+        }
+        if (overhead == null) {
+            throw new IllegalArgumentException("Overhead cannot be null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.quanta = quanta.clone();
+        this.boostPeriod = boostPeriod;
+        this.overhead = overhead;
+        this.listener = listener;
+    }
+    
+    /**
+     * Checks that there is at least one level and that every allotment is positive.
+     * @param quanta the allotment of every level
+     * @throws IllegalArgumentException if there are no levels or an allotment is not positive
+     */
+    private static void validateQuanta(long[] quanta) {
+        if (quanta == null || quanta.length == 0) {
+            throw new IllegalArgumentException("MLFQ needs at least one level");
+        }
+        for (int level = 0; level < quanta.length; level++) {
+            if (quanta[level] <= 0) {
+                throw new IllegalArgumentException("Quantum of level " + level
+                                                   + " must be positive, got: " + quanta[level]);
+            }
+        }
+    }
+    
+    /**
+     * A method to schedule a list of incoming tasks on multilevel feedback queues.
+     * @param tasks incoming tasks (unsorted)
+     * @param processors list of available processors
+     * @return a list of ScheduledTasks sorted on start time, then processor id
+     * @throws IllegalArgumentException if processors is empty
+     */
+    @Override
+    public List<ScheduledTask> schedule(List<Task> tasks, List<Processor> processors) {
+        return AbstractSchedulingSession.scheduleSliced(this, tasks, processors);
+    }
+    
+    /**
+     * Opens an MLFQ session. An execution is emitted once the next slice on the same
+     * processor is known not to continue it.
+     * @param processors list of available processors
+     * @return a new session
+     * @throws IllegalArgumentException if processors is empty
+     */
+    @Override
+    public SchedulingSession openSession(List<Processor> processors) {
+        return new Session(processors, overhead, listener);
+    }
+    
+    /**
+     * Scheduling state of an admitted task; its rank is its level.
+     */
+    private static final class QueuedTask extends PreemptiveSession.TaskState {
+        /** Number of boosts before the task was last queued. */
+        long boosts;
+        
+        QueuedTask(Task task, long sequence, long allotment) {
+            super(task, sequence);
+            this.allotment = allotment;
+        }
+    }
+    
+    /**
+     * Global MLFQ on the preemptive engine. A task's rank is its level and a slice ends when
+     * the task completes or uses up the allotment of its level; boosts are the timer.
+     * All queues are kept in one ready heap keyed by (boosts, level) and ordered by queue
+     * position, so every decision costs O(log n + log p). A boost only moves the running tasks,
+     * in O(p log p): a task that waited through a boost is on level 0 and, in the order it was
+     * queued in, ahead of every task queued after the boost, which the key already expresses.
+     * Such a task takes its new level and allotment when its slice begins.
+     */
+    private final class Session extends PreemptiveSession {
+        private long queueSequence;
+        /** Number of boosts so far. */
+        private long boosts;
+        private long nextBoost = boostPeriod;
+        
+        Session(List<Processor> processors, SwitchOverhead overhead,
+                SchedulerListener listener) {
+            super(processors, "MLFQ", overhead, listener);
+        }
+        
+        /**
+         * An arriving task enters level 0 with its allotment.
+         */
+        @Override
+        protected TaskState createState(Task task, long sequence) {
+            return new QueuedTask(task, sequence, quanta[0]);
+        }
+        
+        /**
+         * A task always joins the back of the queue of its level.
+         */
+        @Override
+        protected void taskQueued(TaskState task) {
+            task.order = queueSequence++;
+            ((QueuedTask) task).boosts = boosts;
+        }
+        
+        /**
+         * Highest level first, tasks queued before a boost ahead of those queued after it.
+         */
+        @Override
+        protected long readyKey(TaskState task) {
+            return ((QueuedTask) task).boosts * quanta.length + task.rank;
+        }
+        
+        /**
+         * Lowest level first.
+         */
+        @Override
+        protected long preemptionKey(TaskState task, long completionTime) {
+            return -task.rank;
+        }
+        
+        /**
+         * A waiting task preempts if it is on a higher level.
+         */
+        @Override
+        protected boolean preempts(TaskState waiting, TaskState running, long time,
+                                   long runningRemainingTime) {
+            return rankAt(waiting, time) < running.rank;
+        }
+        
+        /**
+         * The level of a waiting task, 0 if a boost happened since it was queued.
+         */
+        @Override
+        protected long rankAt(TaskState task, long time) {
+            return ((QueuedTask) task).boosts < boosts ? 0 : task.rank;
+        }
+        
+        @Override
+        protected void beginSlice(TaskState task, long startTime) {
+            if (((QueuedTask) task).boosts < boosts) {
+                task.allotment = quanta[0];
+            }
+            super.beginSlice(task, startTime);
+        }
+        
+        /**
+         * A task that used up its allotment is demoted one level.
+         */
+        @Override
+        protected void sliceExpired(TaskState task) {
+            task.rank = Math.min(task.rank + 1, quanta.length - 1);
+            task.allotment = quanta[(int) task.rank];
+        }
+        
+        @Override
+        protected long nextTimerTime() {
+            return nextBoost;
+        }
+        
+        /**
+         * Moves every task to level 0 with a fresh allotment. Running tasks keep running;
+         * waiting tasks keep their relative order and catch up when their slice begins.
+         */
+        @Override
+        protected void timerExpired(long time) {
+            changeRunningTasks(task -> {
+                task.rank = 0;
+                task.allotment = quanta[0];
+            });
+            boosts++;
+            
+            // Boosts happen at the multiples of the period; idle stretches may skip some
+            long periods = time / boostPeriod + 1;
+            nextBoost = periods > Timeline.END_OF_TIME / boostPeriod
+                        ? Timeline.END_OF_TIME : periods * boostPeriod;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Schedules one huge workload on several cores, with the same result as
+ * {@link SchedulerService#runScheduler(Scheduler, List, int)}.
+ *
+ * The tasks, in arrival order, are cut into segments that are simulated concurrently on a
+ * ForkJoinPool, each one as if the system were empty when its first task arrives. The
+ * segments are then stitched in order: a segment is taken over from the first arrival at
+ * which both the true schedule and the segment's own simulation are drained (no task waits
+ * and every processor is free), because from there on both make the same decisions. Tasks
+ * before that point are simulated again, sequentially, from the true state. A workload that
+ * never drains therefore costs about one sequential run more; one that drains often is
+ * simulated almost entirely in parallel.
+ *
+ * Only the non-preemptive strategies without a listener are split: {@link FCFSStrategy} and
+ * {@link SJFStrategy}. Any other strategy, or a workload of at most one segment, is scheduled
+ * sequentially.
+ */
+public final class ParallelScheduler {
+    /** Default number of tasks per segment. */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 16;
+    
+    private final ForkJoinPool pool;
+    private final int segmentSize;
+    
+    /**
+     * Creates a scheduler that runs on the common pool.
+     */
+    public ParallelScheduler() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEGMENT_SIZE);
+    }
+    
+    /**
+     * Creates a scheduler that runs on the given pool.
+     * @param pool the pool that simulates the segments
+     * @param segmentSize number of tasks per segment
+     * @throws IllegalArgumentException if pool is null or segmentSize is below 1
+     */
+    public ParallelScheduler(ForkJoinPool pool, int segmentSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Segment size must be at least 1, got: "
+                                               + segmentSize);
+        }
+        this.pool = pool;
+        this.segmentSize = segmentSize;
+    }
+    
+    /**
+     * Executes scheduling using the provided strategy.
+     * @param strategy the scheduler type
+     * @param tasks the tasks to be scheduled (unsorted)
+     * @param nrProcessors the number of processors; must be ≥ 1
+     * @return the same list of ScheduledTasks as
+     *         {@link SchedulerService#runScheduler(Scheduler, List, int)}
+     * @throws IllegalArgumentException if {@code nrProcessors < 1}, or if any task
+     *                                  has a negative field
+     * @throws ArithmeticException if the schedule runs beyond {@code Long.MAX_VALUE}
+     */
+    public List<ScheduledTask> schedule(Scheduler strategy, List<Task> tasks, int nrProcessors) {
+        SchedulerService.validateInputs(strategy, tasks, nrProcessors);
+        SortedTaskList sortedTasks = SortedTaskList.of(tasks);
+        
+        SegmentKernel.Factory kernels = kernelsOf(strategy);
+        if (kernels == null || sortedTasks.size() <= segmentSize) {
+            return SchedulerService.runScheduler(strategy, sortedTasks, nrProcessors);
+        }
+        
+        int size = sortedTasks.size();
+        long[] arrivalTimes = new long[size];
+        long[] lengths = new long[size];
+        for (int position = 0; position < size; position++) {
+            arrivalTimes[position] = sortedTasks.get(position).getArrivalTime();
+            lengths[position] = sortedTasks.get(position).getLength();
+        }
+        SegmentKernel.Workload workload = new SegmentKernel.Workload(arrivalTimes, lengths,
+                                                                     nrProcessors);
+        
+        int nrSegments = (size + segmentSize - 1) / segmentSize;
+        List<ForkJoinTask<Segment>> runs = new ArrayList<>(nrSegments);
+        for (int s = 0; s < nrSegments; s++) {
+            int start = s * segmentSize;
+            int end = Math.min(start + segmentSize, size);
+            boolean fresh = s > 0;
+            runs.add(pool.submit(() -> Segment.simulate(kernels.create(workload, fresh),
+                                                        start, end)));
+        }
+        
+        int[] dispatchOrder = stitch(workload, runs);
+        return materialize(sortedTasks, workload, dispatchOrder);
+    }
+    
+    private static SegmentKernel.Factory kernelsOf(Scheduler strategy) {
+        if (strategy instanceof FCFSStrategy) {
+            return ((FCFSStrategy) strategy).segmentKernels();
+        }
+        if (strategy instanceof SJFStrategy) {
+            return ((SJFStrategy) strategy).segmentKernels();
+        }
+        return null;
+    }
+    
+    /**
+     * Joins the segments in order and makes their decisions the true ones.
+     * @param workload the shared tasks and decisions
+     * @param runs the segment simulations, in arrival order
+     * @return the positions in order of dispatch, or null if that is arrival order
+     */
+    private int[] stitch(SegmentKernel.Workload workload, List<ForkJoinTask<Segment>> runs) {
+        long[] arrivalTimes = workload.arrivalTimes;
+        int size = workload.size();
+        // The first segment started from the true initial state
+        SegmentKernel current = runs.get(0).join().kernel;
+        DispatchOrder order = new DispatchOrder(current.logsDispatches(), size);
+        int logStart = 0;
+        
+        for (int s = 1; s < runs.size(); s++) {
+            Segment segment = joinOrNull(runs.get(s));
+            int start = s * segmentSize;
+            int end = Math.min(start + segmentSize, size);
+            int position = resimulate(current, segment, start, end);
+            if (position < end) {
+                order.add(current, logStart, current.logSize());
+                int from = segment.kernel.firstLogIndexFrom(position);
+                order.add(segment.kernel, from, segment.kernel.logSize());
+                current = current.adopt(segment.kernel, position, end);
+                logStart = current.logSize();
+            }
+            if (end < size) {
+                current.advanceTo(arrivalTimes[end]);
+            }
+        }
+        current.finish();
+        order.add(current, logStart, current.logSize());
+        return order.positions;
+    }
+    
+    /**
+     * Continues the true schedule into a segment up to the first task at whose arrival both
+     * it and the segment's own simulation are drained.
+     * @param current the kernel holding the true state
+     * @param segment the fresh simulation of the segment, or null if there is none
+     * @param start first position of the segment
+     * @param end position after the last one
+     * @return the position to adopt the segment from, or end if the true schedule was
+     *         simulated through the whole segment
+     */
+    private static int resimulate(SegmentKernel current, Segment segment, int start, int end) {
+        long[] arrivalTimes = current.workload.arrivalTimes;
+        int drain = 0;
+        for (int position = start; position < end; position++) {
+            if (segment != null && drain < segment.drainCount
+                && segment.drains[drain] == position) {
+                drain++;
+                current.advanceTo(arrivalTimes[position]);
+                if (current.isDrained(arrivalTimes[position])) {
+                    return position;
+                }
+            }
+            current.submit(position);
+        }
+        return end;
+    }
+    
+    /**
+     * Waits for a segment simulation.
+     * @param run the simulation
+     * @return the segment, or null if its fresh simulation ran beyond {@code Long.MAX_VALUE};
+     *         that can happen where the true schedule does not, so the segment is then
+     *         simulated sequentially
+     */
+    private static Segment joinOrNull(ForkJoinTask<Segment> run) {
+        try {
+            return run.join();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Creates the ScheduledTasks in parallel, in the order the sequential run emits them.
+     * @param sortedTasks the tasks by position
+     * @param workload the decisions
+     * @param dispatchOrder the positions in order of dispatch, or null for arrival order
+     * @return the schedule
+     */
+    private List<ScheduledTask> materialize(SortedTaskList sortedTasks,
+                                            SegmentKernel.Workload workload,
+                                            int[] dispatchOrder) {
+        int size = workload.size();
+        ScheduledTask[] result = new ScheduledTask[size];
+        List<ForkJoinTask<?>> fills = new ArrayList<>();
+        for (int from = 0; from < size; from += segmentSize) {
+            int start = from;
+            int end = Math.min(from + segmentSize, size);
+            fills.add(pool.submit(() -> {
+                for (int k = start; k < end; k++) {
+                    int position = dispatchOrder == null ? k : dispatchOrder[k];
+                    long startTime = workload.startTimes[position];
+                    result[k] = new ScheduledTask(sortedTasks.get(position),
+                                                  workload.processorIds[position], startTime,
+                                                  startTime + workload.lengths[position]);
+                }
+            }));
+        }
+        for (ForkJoinTask<?> fill : fills) {
+            fill.join();
+        }
+        return new ArrayList<>(Arrays.asList(result));
+    }
+    
+    /**
+     * A segment simulated from the initial state, with the positions at whose arrival it
+     * was drained.
+     */
+    private static final class Segment {
+        final SegmentKernel kernel;
+        /** Candidate positions for the adoption, ascending. */
+        int[] drains = new int[16];
+        int drainCount;
+        
+        private Segment(SegmentKernel kernel) {
+            this.kernel = kernel;
+        }
+        
+        /**
+         * Runs a kernel over the tasks of a segment. A segment can only be taken over at the
+         * first of the tasks that arrive at the same time.
+         * @param kernel a kernel in the initial state
+         * @param start first position of the segment
+         * @param end position after the last one
+         * @return the segment
+         */
+        static Segment simulate(SegmentKernel kernel, int start, int end) {
+            Segment segment = new Segment(kernel);
+            long[] arrivalTimes = kernel.workload.arrivalTimes;
+            for (int position = start; position < end; position++) {
+                long arrivalTime = arrivalTimes[position];
+                if (position > 0 && arrivalTime > arrivalTimes[position - 1]) {
+                    kernel.advanceTo(arrivalTime);
+                    if (kernel.isDrained(arrivalTime)) {
+                        segment.addDrain(position);
+                    }
+                }
+                kernel.submit(position);
+            }
+            if (end < arrivalTimes.length) {
+                kernel.advanceTo(arrivalTimes[end]);
+            } else {
+                kernel.finish();
+            }
+            return segment;
+        }
+        
+        private void addDrain(int position) {
+            if (drainCount == drains.length) {
+                drains = Arrays.copyOf(drains, drainCount * 2);
+            }
+            drains[drainCount++] = position;
+        }
+    }
+    
+    /**
+     * Concatenates ranges of dispatch logs.
+     */
+    private static final class DispatchOrder {
+        /** The positions in order of dispatch, or null if kernels dispatch in arrival order. */
+        final int[] positions;
+        private int size;
+        
+        DispatchOrder(boolean logged, int capacity) {
+            this.positions = logged ? new int[capacity] : null;
+        }
+        
+        void add(SegmentKernel kernel, int from, int to) {
+            if (positions != null) {
+                kernel.copyLog(from, to, positions, size);
+                size += to - from;
+            }
+        }
+    }
+}
@@ -0,0 +1,491 @@
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Event-driven simulation of a globally preemptive strategy that runs tasks in order of a key:
+ * at any moment the processors run the arrived tasks with the smallest keys. Events are task
+ * arrivals and slice ends; between two events the set of running tasks does not change, so
+ * every event costs O(log n + log p). Migration rules:
+ * 1. A running task keeps its processor until it completes or is preempted
+ * 2. A waiting task that beats the weakest running task preempts that task in place
+ * 3. A preempted task resumes on the processor it last ran on if that one is idle,
+ *    otherwise on the idle processor with the lowest id
+ *
+ * Subclasses define the order: the key of a waiting task, the key under which a running task
+ * is the first to be preempted, and when a waiting task beats a running one. Tasks may gain
+ * rank while they wait, as long as the order among waiting tasks does not change; the moment
+ * the best waiting task overtakes the weakest running one is then one more event.
+ *
+ * A slice ends when its task completes, or when the task has used up its allotment; it is then
+ * queued again, behind the tasks with the same key if the strategy renews its order. The
+ * strategy may also act on the running tasks at times of its own, which are events while tasks
+ * run.
+ *
+ * A slice that does not continue the previous one on its processor begins after the
+ * {@link SwitchOverhead}. A slice is not preempted before it has done work: a waiting task
+ * can only preempt the weakest running task one time unit after its slice has begun, which
+ * is then an event too. So a switch in progress is never interrupted, no overhead is paid for
+ * a slice that does nothing, and a task is never queued again without time left to run.
+ */
+abstract class PreemptiveSession extends AbstractSchedulingSession {
+    /** Arrived, waiting tasks: smallest key first, ties broken by earliest arrival. */
+    private final KeyedHeap<TaskState> readyTasks = new KeyedHeap<>(16);
+    protected final SchedulerListener listener;
+    /** Idle processors, lowest id first. */
+    private final IndexedHeap idleProcessors;
+    /** Busy processors keyed by the end of their current slice. */
+    private final IndexedHeap sliceEnds;
+    /** Busy processors keyed by preemption key, first to be preempted first. */
+    private final IndexedHeap preemptionOrder;
+    private final TaskState[] running;
+    private final long[] sliceStart;
+    /**
+     * Time up to which the running task has been charged for its execution; the start of its
+     * slice while that still waits for its overhead.
+     */
+    private final long[] chargedUntil;
+    /** Last execution per processor, held back while the next slice may still merge. */
+    private final SliceMerger slices;
+    private final ContextSwitches switches;
+    private long arrivalSequence;
+    private long currentTime;
+    
+    /**
+     * Creates a session.
+     * @param processors the processors to schedule on
+     * @param strategyName name of the strategy for error messages
+     * @param overhead delay of the slices that do not continue the previous one
+     * @param listener receives the scheduling decisions
+     * @throws IllegalArgumentException if there are no processors
+     */
+    protected PreemptiveSession(List<Processor> processors, String strategyName,
+                                SwitchOverhead overhead, SchedulerListener listener) {
+        super(processors, strategyName);
+        this.listener = listener;
+        int nrProcessors = processors.size();
+        this.idleProcessors = new IndexedHeap(nrProcessors);
+        this.sliceEnds = new IndexedHeap(nrProcessors);
+        this.preemptionOrder = new IndexedHeap(nrProcessors);
+        this.running = new TaskState[nrProcessors];
+        this.sliceStart = new long[nrProcessors];
+        this.chargedUntil = new long[nrProcessors];
+        this.slices = new SliceMerger(this, nrProcessors, listener);
+        this.switches = new ContextSwitches(overhead, nrProcessors, listener);
+        for (int i = 0; i < nrProcessors; i++) {
+            idleProcessors.add(i, 0);
+        }
+    }
+    
+    /**
+     * Returns the key of a waiting task; smaller keys run first. The order of the keys of
+     * waiting tasks must not change while they wait.
+     * @param task the task, with {@link TaskState#readySince} set
+     * @return its key
+     */
+    protected abstract long readyKey(TaskState task);
+    
+    /**
+     * Returns the key of a task that starts running; the running task with the smallest key
+     * is the first to be preempted. Among equal keys the task latest in
+     * {@link TaskState#order} goes first.
+     * @param task the task
+     * @param completionTime the time its slice ends unless it is preempted: its completion
+     *                       time unless it has a smaller allotment
+     * @return its preemption key
+     */
+    protected abstract long preemptionKey(TaskState task, long completionTime);
+    
+    /**
+     * Decides whether a waiting task preempts the first running task to be preempted. A task
+     * that runs ahead of the waiting task in the order of {@link #readyKey} is not preempted
+     * by it, or it could be preempted as soon as it is dispatched.
+     * @param waiting the best waiting task
+     * @param running the running task
+     * @param time the current time
+     * @param runningRemainingTime the time the running task still needs
+     * @return true if the waiting task takes the processor
+     */
+    protected abstract boolean preempts(TaskState waiting, TaskState running, long time,
+                                        long runningRemainingTime);
+    
+    /**
+     * Creates the state of an arriving task.
+     * @param task the task
+     * @param sequence arrival order of the task in the session
+     * @return its state, with an unlimited allotment by default
+     */
+    protected TaskState createState(Task task, long sequence) {
+        return new TaskState(task, sequence);
+    }
+    
+    /**
+     * Hook invoked when a task joins the ready heap, before its key is computed. The strategy
+     * may renew its {@link TaskState#order} here to queue it behind the tasks with the same
+     * key; by default it keeps its arrival order.
+     * @param task the task, with {@link TaskState#readySince} set
+     */
+    protected void taskQueued(TaskState task) {
+    }
+    
+    /**
+     * Returns the rank a task is admitted with.
+     * @param task the task
+     * @return its initial rank, 0 by default
+     */
+    protected long initialRank(Task task) {
+        return 0;
+    }
+    
+    /**
+     * Returns the rank a waiting task has reached at a time; a task runs at the rank it has
+     * reached when its slice begins. By default the rank does not change while tasks wait.
+     * @param task a waiting task
+     * @param time a time, possibly before it started waiting
+     * @return its rank at that time
+     */
+    protected long rankAt(TaskState task, long time) {
+        return task.rank;
+    }
+    
+    /**
+     * Prepares a task whose slice begins. By default it takes the rank it has reached then.
+     * @param task the task
+     * @param startTime the start of the slice
+     */
+    protected void beginSlice(TaskState task, long startTime) {
+        task.rank = rankAt(task, startTime);
+    }
+    
+    /**
+     * Hook invoked when a slice ends because its task has used up its allotment, before the
+     * task is queued again. It must give the task a positive allotment.
+     * @param task the task
+     */
+    protected void sliceExpired(TaskState task) {
+    }
+    
+    /**
+     * Returns the next time the strategy acts on its own; it is an event while tasks run.
+     * @return the time, {@link Timeline#END_OF_TIME} by default
+     */
+    protected long nextTimerTime() {
+        return Timeline.END_OF_TIME;
+    }
+    
+    /**
+     * Hook invoked once the clock has reached {@link #nextTimerTime()}, after the slices that
+     * end then have ended.
+     * @param time the current time
+     */
+    protected void timerExpired(long time) {
+    }
+    
+    /**
+     * Returns the time at which a waiting task that does not preempt a running task now starts
+     * to, if both keep their places until then. By default that never happens.
+     * @param waiting the best waiting task
+     * @param running the first running task to be preempted
+     * @return the overtake time, later than the current time, or
+     *         {@link Timeline#END_OF_TIME} if there is none
+     */
+    protected long overtakeTime(TaskState waiting, TaskState running) {
+        return Timeline.END_OF_TIME;
+    }
+    
+    /**
+     * Hook invoked when a task completes, after the listener has been told.
+     * @param processor the processor it completed on
+     * @param task the task
+     * @param time the completion time
+     */
+    protected void taskCompleted(int processor, Task task, long time) {
+    }
+    
+    @Override
+    protected void simulate(long limit) {
+        while (currentTime < limit) {
+            admitArrivedTasks();
+            dispatch();
+            
+            long nextEventTime = findNextEventTime();
+            if (nextEventTime >= limit) {
+                break;
+            }
+            
+            currentTime = nextEventTime;
+            endSlices();
+            if (currentTime >= nextTimerTime()) {
+                timerExpired(currentTime);
+            }
+        }
+        for (int processor = 0; processor < running.length; processor++) {
+            TaskState task = running[processor];
+            slices.emitUnlessContinued(processor, task == null ? null : task.task,
+                                       sliceStart[processor]);
+        }
+    }
+    
+    /**
+     * Finds the next event time: the earliest slice end, the strategy's next timer while tasks
+     * run, the next arrival or the moment the best waiting task preempts the weakest running
+     * task.
+     * @return next event time, {@link Timeline#END_OF_TIME} once all tasks have completed
+     */
+    private long findNextEventTime() {
+        long nextEventTime = Timeline.END_OF_TIME;
+        if (!sliceEnds.isEmpty()) {
+            nextEventTime = Math.min(Math.min(sliceEnds.peekKey(), nextTimerTime()),
+                                     findPreemptionTime());
+        }
+        if (!arrivals.isEmpty()) {
+            nextEventTime = Math.min(nextEventTime, arrivals.peekFirst().getArrivalTime());
+        }
+        return nextEventTime;
+    }
+    
+    /**
+     * Moves all tasks that have arrived by the current time into the ready heap.
+     */
+    private void admitArrivedTasks() {
+        while (!arrivals.isEmpty() && arrivals.peekFirst().getArrivalTime() <= currentTime) {
+            Task task = arrivals.pollFirst();
+            TaskState state = createState(task, arrivalSequence++);
+            state.rank = initialRank(task);
+            makeReady(state, currentTime);
+        }
+    }
+    
+    /**
+     * Hands the best waiting tasks to idle processors, then lets waiting tasks preempt
+     * weaker running ones until the running set is the top of all available tasks.
+     */
+    private void dispatch() {
+        while (!readyTasks.isEmpty()) {
+            TaskState best = readyTasks.peek();
+            int processor;
+            if (!idleProcessors.isEmpty()) {
+                processor = selectIdleProcessor(best);
+                readyTasks.poll();
+            } else {
+                processor = preemptionOrder.peek();
+                if (currentTime <= sliceStart[processor]
+                    || !preempts(best, running[processor], currentTime,
+                                 remainingTimeOf(processor))) {
+                    return;
+                }
+                // The preempted task may queue ahead of best, so best leaves the heap first
+                readyTasks.poll();
+                preempt(processor, best);
+            }
+            start(best, processor);
+        }
+    }
+    
+    /**
+     * Picks the idle processor for a task: the one it last ran on if that is idle,
+     * the idle processor with the lowest id otherwise.
+     * @param task the task about to start
+     * @return the chosen processor
+     */
+    private int selectIdleProcessor(TaskState task) {
+        if (task.lastProcessor >= 0 && idleProcessors.contains(task.lastProcessor)) {
+            idleProcessors.remove(task.lastProcessor);
+            return task.lastProcessor;
+        }
+        return idleProcessors.poll();
+    }
+    
+    /**
+     * Starts (or resumes) a task on a processor.
+     * @param task the task to run
+     * @param processor an idle processor
+     */
+    private void start(TaskState task, int processor) {
+        long startTime = switches.sliceStart(processor, task.task, currentTime);
+        running[processor] = task;
+        sliceStart[processor] = startTime;
+        chargedUntil[processor] = startTime;
+        task.lastProcessor = processor;
+        beginSlice(task, startTime);
+        long sliceEnd = Timeline.add(startTime, Math.min(task.remainingTime, task.allotment));
+        sliceEnds.add(processor, sliceEnd);
+        listener.taskDispatched(processor, task.task.getId(), startTime, readyTasks.size());
+        preemptionOrder.add(processor, preemptionKey(task, sliceEnd), -task.order);
+    }
+    
+    /**
+     * Charges every running task for its execution so far, lets the strategy change it and
+     * continues its slice with the allotment and preemption key it has then.
+     * @param change changes a running task
+     * @throws ArithmeticException if a slice would end beyond {@code Long.MAX_VALUE}
+     */
+    protected final void changeRunningTasks(Consumer<TaskState> change) {
+        for (int processor = 0; processor < running.length; processor++) {
+            TaskState task = running[processor];
+            if (task != null) {
+                charge(processor);
+                change.accept(task);
+                long sliceEnd = Timeline.add(chargedUntil[processor],
+                                             Math.min(task.remainingTime, task.allotment));
+                sliceEnds.update(processor, sliceEnd);
+                preemptionOrder.remove(processor);
+                preemptionOrder.add(processor, preemptionKey(task, sliceEnd), -task.order);
+            }
+        }
+    }
+    
+    /**
+     * Stops the task running on a processor and puts it back into the ready heap. The slice
+     * has done work and the task has time left, since its slice would have ended otherwise.
+     * @param processor a busy processor
+     * @param successor the task that runs on it next
+     */
+    private void preempt(int processor, TaskState successor) {
+        TaskState task = running[processor];
+        listener.taskPreempted(processor, task.task.getId(), currentTime);
+        closeSlice(processor);
+        // It waits from the moment the slice of its successor begins; gaining rank during the
+        // switch could let it take the processor back as soon as that slice begins
+        makeReady(task, switches.startOf(processor, successor.task, currentTime));
+    }
+    
+    /**
+     * Puts a task into the ready heap.
+     * @param task the task
+     * @param readySince the time it starts waiting, the current time or later
+     */
+    private void makeReady(TaskState task, long readySince) {
+        task.readySince = readySince;
+        taskQueued(task);
+        readyTasks.add(readyKey(task), task.order, task);
+    }
+    
+    /**
+     * Finds the moment the best waiting task preempts the weakest running task if neither
+     * changes before: when it overtakes that task, but not before its slice has done work.
+     * @return the preemption time, {@link Timeline#END_OF_TIME} if there is none
+     */
+    private long findPreemptionTime() {
+        if (readyTasks.isEmpty() || !idleProcessors.isEmpty()) {
+            return Timeline.END_OF_TIME;
+        }
+        int processor = preemptionOrder.peek();
+        TaskState best = readyTasks.peek();
+        long overtakeTime = preempts(best, running[processor], currentTime,
+                                     remainingTimeOf(processor))
+                            ? currentTime : overtakeTime(best, running[processor]);
+        if (overtakeTime == Timeline.END_OF_TIME) {
+            return Timeline.END_OF_TIME;
+        }
+        return Math.max(overtakeTime, Timeline.add(sliceStart[processor], 1));
+    }
+    
+    /**
+     * Ends every slice that finishes at the current time. Finished tasks leave the system; the
+     * others have used up their allotment and are queued again.
+     */
+    private void endSlices() {
+        while (!sliceEnds.isEmpty() && sliceEnds.peekKey() <= currentTime) {
+            int processor = sliceEnds.peek();
+            if (remainingTimeOf(processor) == 0) {
+                complete(processor);
+            } else {
+                expire(processor);
+            }
+        }
+    }
+    
+    /**
+     * Completes the task running on a processor.
+     * @param processor a processor whose task completes at the current time
+     */
+    private void complete(int processor) {
+        Task task = running[processor].task;
+        listener.taskCompleted(processor, task.getId(), currentTime);
+        taskCompleted(processor, task, currentTime);
+        closeSlice(processor);
+        idleProcessors.add(processor, 0);
+    }
+    
+    /**
+     * Stops the task running on a processor, which has used up its allotment, and queues it
+     * again.
+     * @param processor a processor whose slice ends at the current time
+     */
+    private void expire(int processor) {
+        TaskState task = running[processor];
+        closeSlice(processor);
+        idleProcessors.add(processor, 0);
+        listener.taskPreempted(processor, task.task.getId(), currentTime);
+        sliceExpired(task);
+        makeReady(task, currentTime);
+    }
+    
+    /**
+     * Returns the time the task running on a processor still needs after the current time.
+     * @param processor a busy processor
+     * @return its remaining time, counted from the start of its slice if that lies ahead
+     */
+    private long remainingTimeOf(int processor) {
+        return running[processor].remainingTime - (currentTime - chargedUntil[processor]);
+    }
+    
+    /**
+     * Charges the running task on a processor and records its execution since the start of
+     * its open slice.
+     * @param processor a busy processor
+     */
+    private void closeSlice(int processor) {
+        charge(processor);
+        TaskState task = running[processor];
+        slices.add(processor, task.task, sliceStart[processor], currentTime);
+        switches.sliceEnded(processor, task.task, currentTime);
+        running[processor] = null;
+        sliceEnds.remove(processor);
+        preemptionOrder.remove(processor);
+    }
+    
+    /**
+     * Subtracts the time a running task has run since it was last charged from its remaining
+     * time and its allotment.
+     * @param processor a busy processor
+     */
+    private void charge(int processor) {
+        long ran = Math.max(0, currentTime - chargedUntil[processor]);
+        running[processor].remainingTime -= ran;
+        running[processor].allotment -= ran;
+        chargedUntil[processor] = Math.max(chargedUntil[processor], currentTime);
+    }
+    
+    /**
+     * Scheduling state of an admitted task.
+     */
+    static class TaskState {
+        final Task task;
+        /** Arrival order of the task in the session. */
+        final long sequence;
+        /** Tie-breaker among tasks with equal keys, the arrival order unless it is renewed. */
+        long order;
+        /** Time the task still needs; updated when its slice ends. */
+        long remainingTime;
+        /** Time the task may still run before its slice expires; unlimited by default. */
+        long allotment = Long.MAX_VALUE;
+        int lastProcessor = -1;
+        /** Rank of the task when it was last queued, or while it runs. */
+        long rank;
+        /** Time the task started waiting when it was last queued. */
+        long readySince;
+        
+        /**
+         * Creates the state of a task that has not run yet.
+         * @param task the task
+         * @param sequence arrival order of the task in the session
+         */
+        TaskState(Task task, long sequence) {
+            this.task = task;
+            this.sequence = sequence;
+            this.order = sequence;
+            this.remainingTime = task.getLength();
+        }
+    }
+}
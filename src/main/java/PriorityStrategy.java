@@ -1,205 +1,224 @@
 import java.util.List;
-import java.util.ArrayList;
 
 /**
  * Class for the (Preemptive) Priority Strategy.
+ *
+ * With several processors the strategy is globally preemptive: at any moment the processors
+ * run the highest-priority tasks that have arrived (earlier arrival wins ties). Migration rules:
+ * 1. A running task keeps its processor until it completes or is preempted
+ * 2. An arriving task that outranks the weakest running task preempts that task in place
+ * 3. A preempted task resumes on the processor it last ran on if that one is idle,
+ *    otherwise on the idle processor with the lowest id
+ *
+ * Optional aging prevents starvation: a waiting task gains one priority level for every full
+ * aging interval it waits. A task runs at the level it has reached when it is dispatched and
+ * resumes aging from there if it is preempted. Among waiting tasks on the same level the one
+ * closest to its next level goes first, then the earliest arrival. A waiting task only
+ * preempts a running task from a higher level, so a task is never preempted by one that was
+ * queued behind it, and two tasks on the same level do not take turns. Aging moves all waiting
+ * tasks up at the same rate, so the order among them never changes and the ready heap is never
+ * re-keyed; the time at which the best waiting task overtakes the weakest running one is just
+ * one more event.
  * <!--//# BEGIN TODO: Name, student ID, and date-->
  * <p><b>Muhammad Rafiq, 1924214, 16th June 2025</b></p>
  * <!--//# END TODO-->
  */
 public class PriorityStrategy implements Scheduler {
-
+    /** Aging interval of a strategy whose priorities never change. */
+    public static final long NO_AGING = Long.MAX_VALUE;
     /**
-     * A method to schedule a list of incoming tasks taking priority into account.
-     * @param tasks incoming tasks (unsorted)
-     * @param processors list of available processors (must contain exactly one processor)
-     * @return a list of ScheduledTasks sorted on start time based on the Priority strategy.
-     * @throws IllegalArgumentException if processors.size() != 1
+     * Largest aging interval other than {@link #NO_AGING}; up to it the score of any priority
+     * (see the session) stays within 2^61 of zero.
      */
-    @Override
-    public List<ScheduledTask> schedule(List<Task> tasks, List<Processor> processors) {
-        if (processors.size() != 1) {
-            throw new IllegalArgumentException("Priority strategy requires exactly one processor");
-        }
-        
-        if (tasks.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        // Create task state tracking
-        List<TaskState> taskStates = new ArrayList<>();
-        for (Task task : tasks) {
-            taskStates.add(new TaskState(task));
-        }
-        
-        List<ScheduledTask> result = new ArrayList<>();
-        int currentTime = 0;
-        
-        while (!allTasksCompleted(taskStates)) {
-            // Find the highest priority task that has arrived and is not completed
-            TaskState currentTask = getHighestPriorityAvailableTask(taskStates, currentTime);
-            
-            if (currentTask == null) {
-                // No tasks available, advance to next arrival time
-                currentTime = getNextArrivalTime(taskStates, currentTime);
-                continue;
-            }
-            
-            // Find the next event time (either task completion or higher priority task arrival)
-            int nextEventTime = findNextEventTime(taskStates, currentTask, currentTime);
-            
-            // Execute the current task until the next event
-            int executionTime = nextEventTime - currentTime;
-            int startTime = currentTime;
-            int endTime = currentTime + executionTime;
-            
-            // Create scheduled task entry
-            result.add(new ScheduledTask(currentTask.task, 0, startTime, endTime));
-            
-            // Update task state
-            currentTask.remainingTime -= executionTime;
-            if (currentTask.remainingTime <= 0) {
-                currentTask.completed = true;
-            }
-            
-            currentTime = nextEventTime;
-        }
-        
-        // Merge consecutive executions of same task
-        return mergeConsecutiveExecutions(result);
+    public static final long MAX_AGING_INTERVAL = 1L << 30;
+    
+    /** Receives the scheduling decisions. */
+    private final SchedulerListener listener;
+    /** Waiting time that raises the priority of a task by one level. */
+    private final long agingInterval;
+    /** Delay of the slices that do not continue the previous one on their processor. */
+    private final SwitchOverhead overhead;
+    
+    /**
+     * Constructor for the Priority Strategy without instrumentation.
+     */
+    public PriorityStrategy() {
+        this(NO_AGING, SchedulerListener.NONE);
     }
     
     /**
-     * Checks if all tasks have been completed.
-     * @param taskStates list of task states
-     * @return true if all tasks are completed
+     * Constructor for the Priority Strategy reporting its decisions to a listener.
+     * @param listener receives dispatches, preemptions, completions and merges
+     * @throws IllegalArgumentException if listener is null
      */
-    private boolean allTasksCompleted(List<TaskState> taskStates) {
-        return taskStates.stream().allMatch(ts -> ts.completed);
+    public PriorityStrategy(SchedulerListener listener) {
+        this(NO_AGING, listener);
     }
     
     /**
-     * Finds the highest priority task that has arrived and is not completed.
-     * @param taskStates list of task states
-     * @param currentTime current simulation time
-     * @return the highest priority available task, or null if none available
+     * Constructor for the Priority Strategy with aging.
+     * @param agingInterval waiting time that raises the priority of a task by one level
+     *                      (positive, at most {@link #MAX_AGING_INTERVAL}), or {@link #NO_AGING}
+     * @throws IllegalArgumentException if agingInterval is out of range
      */
-    private TaskState getHighestPriorityAvailableTask(List<TaskState> taskStates, int currentTime) {
-        TaskState bestTask = null;
-        
-        for (TaskState ts : taskStates) {
-            if (!ts.completed && ts.task.getArrivalTime() <= currentTime) {
-                if (bestTask == null || hasHigherPriority(ts.task, bestTask.task)) {
-                    bestTask = ts;
-                }
-            }
-        }
-        
-        return bestTask;
+    public PriorityStrategy(long agingInterval) {
+        this(agingInterval, SchedulerListener.NONE);
     }
     
     /**
-     * Compares two tasks to determine if the first has higher priority.
-     * @param task1 first task to compare
-     * @param task2 second task to compare
-     * @return true if task1 has higher priority than task2
+     * Constructor for the Priority Strategy with aging, reporting its decisions to a listener.
+     * @param agingInterval waiting time that raises the priority of a task by one level
+     *                      (positive, at most {@link #MAX_AGING_INTERVAL}), or {@link #NO_AGING}
+     * @param listener receives dispatches, preemptions, completions and merges
+     * @throws IllegalArgumentException if agingInterval is out of range or listener is null
      */
-    private boolean hasHigherPriority(Task task1, Task task2) {
-        if (task1.getPriority() > task2.getPriority()) {
-            return true;
-        } else if (task1.getPriority() < task2.getPriority()) {
-            return false;
-        } else {
-            // Same priority - tie-breaker is arrival time (earlier wins)
-            return task1.getArrivalTime() < task2.getArrivalTime();
-        }
+    public PriorityStrategy(long agingInterval, SchedulerListener listener) {
+        this(agingInterval, SwitchOverhead.NONE, listener);
     }
     
     /**
-     * Finds the next arrival time among uncompleted tasks.
-     * @param taskStates list of task states
-     * @param currentTime current simulation time
-     * @return next arrival time
+     * Constructor for the Priority Strategy with aging and context-switch and dispatch
+     * overhead, reporting its decisions to a listener.
+     * @param agingInterval waiting time that raises the priority of a task by one level
+     *                      (positive, at most {@link #MAX_AGING_INTERVAL}), or {@link #NO_AGING}
+     * @param overhead delay of the slices that do not continue the previous one on their
+     *                 processor
+     * @param listener receives dispatches, preemptions, completions, merges, context switches
+     *                 and dispatch delays
+     * @throws IllegalArgumentException if agingInterval is out of range, or overhead or
+     *                                  listener is null
      */
-    private int getNextArrivalTime(List<TaskState> taskStates, int currentTime) {
-        int nextArrival = Integer.MAX_VALUE;
-        for (TaskState ts : taskStates) {
-            if (!ts.completed && ts.task.getArrivalTime() > currentTime) {
-                nextArrival = Math.min(nextArrival, ts.task.getArrivalTime());
-            }
+    public PriorityStrategy(long agingInterval, SwitchOverhead overhead,
+                            SchedulerListener listener) {
+        if (agingInterval <= 0
+            || agingInterval > MAX_AGING_INTERVAL && agingInterval != NO_AGING) {
+            throw new IllegalArgumentException("Aging interval must be in [1, "
+                                               + MAX_AGING_INTERVAL + "], got: "
+                                               + agingInterval);
         }
-        return nextArrival == Integer.MAX_VALUE ? currentTime + 1 : nextArrival;
+        if (overhead == null) {
+            throw new IllegalArgumentException("Overhead cannot be null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.agingInterval = agingInterval;
+        this.overhead = overhead;
+        this.listener = listener;
+    }
+    
+    /**
+     * A method to schedule a list of incoming tasks taking priority into account.
+     * @param tasks incoming tasks (unsorted)
+     * @param processors list of available processors (at least one)
+     * @return a list of ScheduledTasks sorted on start time based on the Priority strategy.
+     * @throws IllegalArgumentException if processors is empty
+     */
+    @Override
+    public List<ScheduledTask> schedule(List<Task> tasks, List<Processor> processors) {
+        return AbstractSchedulingSession.scheduleSliced(this, tasks, processors);
     }
     
     /**
-     * Finds the next event time (task completion or higher priority arrival).
-     * @param taskStates list of task states
-     * @param currentTask currently executing task
-     * @param currentTime current simulation time
-     * @return next event time
+     * Opens a priority session. An execution is emitted once it can no longer be extended,
+     * i.e. once its task is preempted or completes and the next execution on that processor
+     * is not a direct continuation of it.
+     * @param processors list of available processors (at least one)
+     * @return a new session
+     * @throws IllegalArgumentException if processors is empty
      */
-    private int findNextEventTime(List<TaskState> taskStates, TaskState currentTask, 
-                                  int currentTime) {
-        // When current task would complete
-        int taskCompletionTime = currentTime + (int) currentTask.remainingTime;
-        
-        // When next higher priority task arrives
-        int nextHigherPriorityArrival = Integer.MAX_VALUE;
-        for (TaskState ts : taskStates) {
-            if (!ts.completed && ts.task.getArrivalTime() > currentTime) {
-                if (hasHigherPriority(ts.task, currentTask.task)) {
-                    nextHigherPriorityArrival = Math.min(nextHigherPriorityArrival, 
-                                                        ts.task.getArrivalTime());
-                }
-            }
-        }
-        
-        return Math.min(taskCompletionTime, nextHigherPriorityArrival);
+    @Override
+    public SchedulingSession openSession(List<Processor> processors) {
+        return new Session(processors, listener, agingInterval, overhead);
     }
     
     /**
-     * Merges consecutive executions of the same task into single entries.
-     * @param scheduledTasks list of scheduled tasks
-     * @return merged list of scheduled tasks
+     * Global preemptive priority scheduling: waiting tasks are ranked by score, and the
+     * running task on the lowest level is the first to be preempted.
+     *
+     * Aging is tracked as a score in units of 1/agingInterval of a level: a task's score
+     * starts at its priority times the aging interval and grows by one per time unit it waits;
+     * its level is the score divided by the interval, rounded down. All waiting tasks gain
+     * score at the same rate, so their order is that of {@code score - readySince}, which does
+     * not change while they wait. Without aging the score is the priority and does not grow.
+     *
+     * The ready heap and the preemption check rank tasks the same way: a task the heap orders
+     * behind a running task has no more score than it, so it is not on a higher level either.
      */
-    private List<ScheduledTask> mergeConsecutiveExecutions(List<ScheduledTask> scheduledTasks) {
-        if (scheduledTasks.isEmpty()) {
-            return scheduledTasks;
+    private static final class Session extends PreemptiveSession {
+        /** Score of one priority level. */
+        private final long priorityScale;
+        /** Score a waiting task gains per time unit: 1 with aging, 0 without. */
+        private final long agingRate;
+        
+        Session(List<Processor> processors, SchedulerListener listener, long agingInterval,
+                SwitchOverhead overhead) {
+            super(processors, "Priority", overhead, listener);
+            this.priorityScale = agingInterval == NO_AGING ? 1 : agingInterval;
+            this.agingRate = agingInterval == NO_AGING ? 0 : 1;
+        }
+        
+        /**
+         * Highest score first; a waiting task's key does not change while it waits.
+         */
+        @Override
+        protected long readyKey(TaskState task) {
+            return agingRate * task.readySince - task.rank;
         }
         
-        List<ScheduledTask> merged = new ArrayList<>();
-        ScheduledTask current = scheduledTasks.get(0);
+        /**
+         * Lowest level first.
+         */
+        @Override
+        protected long preemptionKey(TaskState task, long completionTime) {
+            return levelOf(task.rank);
+        }
         
-        for (int i = 1; i < scheduledTasks.size(); i++) {
-            ScheduledTask next = scheduledTasks.get(i);
-            
-            // If same task and consecutive execution (no gap), merge
-            if (current.getTask().getId() == next.getTask().getId() 
-                && current.getEndTime() == next.getStartTime()) {
-                current = new ScheduledTask(current.getTask(), current.getProcessorId(), 
-                                          current.getStartTime(), next.getEndTime());
-            } else {
-                merged.add(current);
-                current = next;
-            }
+        /**
+         * A waiting task preempts if it has reached a higher level.
+         */
+        @Override
+        protected boolean preempts(TaskState waiting, TaskState running, long time,
+                                   long runningRemainingTime) {
+            return levelOf(rankAt(waiting, time)) > levelOf(running.rank);
         }
-        merged.add(current);
         
-        return merged;
-    }
-    
-    /**
-     * Internal class to track task execution state.
-     */
-    private static class TaskState {
-        final Task task;
-        long remainingTime;
-        boolean completed;
+        /**
+         * The priority times the aging interval; the bound on the interval keeps it exact.
+         */
+        @Override
+        protected long initialRank(Task task) {
+            return task.getPriority() * priorityScale;
+        }
+        
+        @Override
+        protected long rankAt(TaskState task, long time) {
+            return Math.addExact(task.rank, agingRate * (time - task.readySince));
+        }
+        
+        /**
+         * The best waiting task overtakes the weakest running task once it reaches the next
+         * level.
+         */
+        @Override
+        protected long overtakeTime(TaskState waiting, TaskState running) {
+            if (agingRate == 0) {
+                return Timeline.END_OF_TIME;
+            }
+            long level = levelOf(running.rank) + 1;
+            if (level > Timeline.END_OF_TIME / priorityScale) {
+                return Timeline.END_OF_TIME;
+            }
+            // The waiting task reaches the level gap time units after it started waiting
+            long gap = level * priorityScale - waiting.rank;
+            if (gap >= Timeline.END_OF_TIME - waiting.readySince) {
+                return Timeline.END_OF_TIME;
+            }
+            return waiting.readySince + gap;
+        }
         
-        TaskState(Task task) {
-            this.task = task;
-            this.remainingTime = task.getLength();
-            this.completed = false;
+        private long levelOf(long score) {
+            return Math.floorDiv(score, priorityScale);
         }
     }
 }
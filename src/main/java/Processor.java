@@ -1,15 +1,41 @@
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Class for a processor.
+ * 
+ * A processor keeps the timeline of the executions scheduled on it. Strategies record every
+ * execution on the processor at its index in their processor list as they emit it, and opening
+ * a session on a processor clears its previous timeline. The timeline is stored in growable
+ * primitive arrays in start-time order, so {@link #getTaskAt(long)} is a binary search.
  * @author Ferit Ismailov
  * @date 20.05.2025
  */
 public class Processor {
+    private static final int INITIAL_CAPACITY = 8;
+
     private final int id;
-    private final List<ScheduledTask> schedule = new ArrayList<>();
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private long[] endTimes = new long[INITIAL_CAPACITY];
+    private ScheduledTask[] executions = new ScheduledTask[INITIAL_CAPACITY];
+    private int size;
+    /** Read-only view of the executions; follows the arrays as they grow. */
+    private final List<ScheduledTask> schedule = new AbstractList<ScheduledTask>() {
+        @Override
+        public ScheduledTask get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+            }
+            return executions[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
 
     public Processor(int id) {
         this.id = id;
@@ -19,11 +45,68 @@ public class Processor {
         return id;
     }
 
+    /**
+     * Returns the executions on this processor.
+     * @return a read-only list ordered by start time
+     */
     public List<ScheduledTask> getSchedule() {
         return schedule;
     }
 
+    /**
+     * Appends an execution to the timeline.
+     * @param st the execution; it may not start before the last assigned execution
+     * @throws IllegalArgumentException if st is null or starts before the last execution
+     */
     public void assign(ScheduledTask st) {
-        schedule.add(st);
+        if (st == null) {
+            throw new IllegalArgumentException("Scheduled task cannot be null");
+        }
+        if (size > 0 && st.getStartTime() < startTimes[size - 1]) {
+            throw new IllegalArgumentException("Execution of task " + st.getTask().getId()
+                                               + " at " + st.getStartTime()
+                                               + " starts before the last execution on "
+                                               + "processor " + id);
+        }
+        if (size == executions.length) {
+            int capacity = size * 2;
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            endTimes = Arrays.copyOf(endTimes, capacity);
+            executions = Arrays.copyOf(executions, capacity);
+        }
+        startTimes[size] = st.getStartTime();
+        endTimes[size] = st.getEndTime();
+        executions[size] = st;
+        size++;
+    }
+
+    /**
+     * Removes all executions from the timeline.
+     */
+    public void clearSchedule() {
+        Arrays.fill(executions, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Looks up what ran on this processor at a point in time in O(log n).
+     * @param time the point in time
+     * @return the execution with {@code startTime <= time < endTime}, or null if the
+     *         processor was idle
+     */
+    public ScheduledTask getTaskAt(long time) {
+        // Find the last execution that starts at or before the time
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (startTimes[middle] <= time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int last = low - 1;
+        return last >= 0 && time < endTimes[last] ? executions[last] : null;
     }
-}
\ No newline at end of file
+}
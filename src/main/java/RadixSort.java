@@ -0,0 +1,177 @@
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+/**
+ * Stable LSD radix sort on primitive long keys, used to put tasks in arrival order and
+ * schedules in start-time order in linear time.
+ *
+ * Keys are sorted relative to the smallest key, one byte per pass, and only as many passes
+ * run as the range of the keys needs: times within 2^32 take four passes however many
+ * elements there are. Input that is already in order is detected and left alone, and short
+ * inputs are insertion sorted.
+ */
+final class RadixSort {
+    private static final int DIGIT_BITS = 8;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = RADIX - 1;
+    /** Below this size the count arrays cost more than insertion sort saves. */
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+    
+    private RadixSort() {
+    }
+    
+    /**
+     * Returns the indices 0 to size - 1 in order.
+     * @param size number of indices
+     * @return the identity permutation
+     */
+    static int[] identity(int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+    
+    /**
+     * Stably sorts indices by their key.
+     * @param order indices into {@code keys}; reordered in place
+     * @param keys the keys
+     */
+    static void sort(int[] order, long[] keys) {
+        int size = order.length;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        boolean sorted = true;
+        for (int i = 0; i < size; i++) {
+            long key = keys[order[i]];
+            if (key < max) {
+                sorted = false;
+            }
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+        if (sorted) {
+            return;
+        }
+        if (size < INSERTION_SORT_THRESHOLD) {
+            insertionSort(order, keys);
+            return;
+        }
+        radixSort(order, keys, min, max);
+    }
+    
+    /**
+     * Stably sorts an array by a key.
+     * @param <T> the element type
+     * @param elements the elements; sorted in place
+     * @param key extracts the key of an element (called once per element)
+     */
+    static <T> void sort(T[] elements, ToLongFunction<? super T> key) {
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = key.applyAsLong(elements[i]);
+        }
+        int[] order = identity(elements.length);
+        sort(order, keys);
+        permute(elements, order);
+    }
+    
+    private static <T> void permute(T[] elements, int[] order) {
+        T[] original = elements.clone();
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = original[order[i]];
+        }
+    }
+    
+    /**
+     * Stably sorts indices by their key, one digit per pass.
+     * @param order indices into {@code keys}; reordered in place
+     * @param keys the keys
+     * @param min the smallest key
+     * @param max the largest key
+     */
+    private static void radixSort(int[] order, long[] keys, long min, long max) {
+        int size = order.length;
+        
+        // The range max - min is exact as an unsigned value even if it overflows
+        int bits = 64 - Long.numberOfLeadingZeros(max - min);
+        int passes = (bits + DIGIT_BITS - 1) / DIGIT_BITS;
+        
+        // Keys travel with the indices, so every pass reads both sequentially
+        long[] sourceKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            sourceKeys[i] = keys[order[i]] - min;
+        }
+        long[] targetKeys = new long[size];
+        int[] source = order;
+        int[] target = new int[size];
+        int[] offsets = new int[RADIX];
+        
+        for (int pass = 0; pass < passes; pass++) {
+            if (!distribute(source, sourceKeys, target, targetKeys, offsets,
+                            pass * DIGIT_BITS)) {
+                continue;
+            }
+            
+            int[] indices = source;
+            source = target;
+            target = indices;
+            long[] passKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = passKeys;
+        }
+        if (source != order) {
+            System.arraycopy(source, 0, order, 0, size);
+        }
+    }
+    
+    /**
+     * Runs one pass: stably moves the indices and their keys to the target arrays by one digit
+     * of the keys.
+     * @param source the indices
+     * @param sourceKeys the keys of the indices, in the same order
+     * @param target receives the indices
+     * @param targetKeys receives the keys
+     * @param offsets scratch space for the digit counts
+     * @param shift position of the digit in the keys
+     * @return false, and nothing is moved, if every key has the same digit
+     */
+    private static boolean distribute(int[] source, long[] sourceKeys, int[] target,
+                                      long[] targetKeys, int[] offsets, int shift) {
+        int size = source.length;
+        Arrays.fill(offsets, 0);
+        for (int i = 0; i < size; i++) {
+            offsets[(int) (sourceKeys[i] >>> shift) & DIGIT_MASK]++;
+        }
+        if (offsets[(int) (sourceKeys[0] >>> shift) & DIGIT_MASK] == size) {
+            // Every key has the same digit: this pass would not move anything
+            return false;
+        }
+        int offset = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            int count = offsets[digit];
+            offsets[digit] = offset;
+            offset += count;
+        }
+        for (int i = 0; i < size; i++) {
+            int position = offsets[(int) (sourceKeys[i] >>> shift) & DIGIT_MASK]++;
+            target[position] = source[i];
+            targetKeys[position] = sourceKeys[i];
+        }
+        return true;
+    }
+    
+    private static void insertionSort(int[] order, long[] keys) {
+        for (int i = 1; i < order.length; i++) {
+            int index = order[i];
+            long key = keys[index];
+            int j = i - 1;
+            while (j >= 0 && keys[order[j]] > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+}
@@ -1,7 +1,5 @@
 import java.util.List;
-import java.util.ArrayList;
-import java.util.Queue;
-import java.util.LinkedList;
+import java.util.Arrays;
 
 /**
  * Class for the Round Robin Strategy.
@@ -12,217 +10,375 @@ import java.util.LinkedList;
 public class RoundRobinStrategy implements Scheduler {
     /** The time quantum (in milliseconds) allocated to each task per round. */
     private final long quantum;
-
+    /** Delay of the quanta that do not continue the previous one on their processor. */
+    private final SwitchOverhead overhead;
+    /** Receives the scheduling decisions. */
+    private final SchedulerListener listener;
+    
     /**
      * Constructor for Round Robin Strategy.
-     * 
-     * @param quantum the time quantum allocated to each task per execution round 
+     *
+     * @param quantum the time quantum allocated to each task per execution round
      *                (must be positive)
      * @throws IllegalArgumentException if quantum <= 0
      */
     public RoundRobinStrategy(long quantum) {
+        this(quantum, SchedulerListener.NONE);
+    }
+    
+    /**
+     * Constructor for Round Robin Strategy reporting its decisions to a listener.
+     *
+     * @param quantum the time quantum allocated to each task per execution round
+     *                (must be positive)
+     * @param listener receives dispatches, preemptions, completions and merges
+     * @throws IllegalArgumentException if quantum <= 0 or listener is null
+     */
+    public RoundRobinStrategy(long quantum, SchedulerListener listener) {
+        this(quantum, SwitchOverhead.NONE, listener);
+    }
+    
+    /**
+     * Constructor for Round Robin Strategy with context-switch and dispatch overhead. A
+     * quantum that does not continue the previous one on its processor starts after the
+     * overhead, and the processor is busy in between.
+     *
+     * @param quantum the time quantum allocated to each task per execution round
+     *                (must be positive)
+     * @param overhead delay of the quanta that do not continue the previous one
+     * @param listener receives dispatches, preemptions, completions, merges, context switches
+     *                 and dispatch delays
+     * @throws IllegalArgumentException if quantum <= 0, or overhead or listener is null
+     */
+    public RoundRobinStrategy(long quantum, SwitchOverhead overhead, SchedulerListener listener) {
         if (quantum <= 0) {
             throw new IllegalArgumentException("Quantum must be positive, got: " + quantum);
         }
+        if (overhead == null) {
+            throw new IllegalArgumentException("Overhead cannot be null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
         this.quantum = quantum;
+        this.overhead = overhead;
+        this.listener = listener;
     }
-
+    
     /**
      * Schedules a list of incoming tasks using the Round Robin Strategy.
-     * 
+     *
      * The algorithm works as follows:
      * 1. Tasks are sorted by arrival time
-     * 2. Available tasks are placed in a ready queue (FIFO)
+     * 2. Every processor has its own ready queue (FIFO); an arriving task joins the queue of
+     *    the least loaded processor (queued plus running tasks, lowest id on ties)
      * 3. Each task executes for at most 'quantum' time units
      * 4. If a task completes within its quantum, the next task starts immediately
-     * 5. If a task doesn't complete, it's moved to the back of the ready queue
-     * 6. Consecutive executions of the same task are merged into single ScheduledTask entries
-     * 
+     * 5. If a task doesn't complete, it's moved to the back of its processor's ready queue;
+     *    tasks that arrived during the quantum are queued behind it
+     * 6. A processor whose queue runs empty steals the last task from the queue of the
+     *    most loaded processor (lowest id on ties), which is the only way a task migrates
+     * 7. Consecutive executions of the same task on a processor are merged into single
+     *    ScheduledTask entries
+     *
      * @param tasks incoming tasks (unsorted, may contain tasks with different arrival times)
-     * @param processors list of available processors (must contain exactly one processor)
+     * @param processors list of available processors (at least one)
      * @return a list of ScheduledTasks sorted by start time, representing the execution schedule
-     * @throws IllegalArgumentException if processors.size() != 1 or other 
+     * @throws IllegalArgumentException if processors is empty or other
      *                                   preconditions are violated
      */
     @Override
     public List<ScheduledTask> schedule(List<Task> tasks, List<Processor> processors) {
-        validatePreconditions(processors);
-        
-        if (tasks.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        List<Task> sortedTasks = new ArrayList<>(tasks);
-        sortedTasks.sort((t1, t2) -> Integer.compare(t1.getArrivalTime(), t2.getArrivalTime()));
-        
-        return executeRoundRobinScheduling(sortedTasks, processors.get(0));
+        return AbstractSchedulingSession.scheduleSliced(this, tasks, processors);
     }
     
     /**
-     * Validates that exactly one processor is provided.
-     * @param processors list of processors
-     * @throws IllegalArgumentException if not exactly one processor
+     * Opens a round robin session. A quantum is emitted once the next quantum on the same
+     * processor is known not to continue the same task.
+     * @param processors list of available processors (at least one)
+     * @return a new session
+     * @throws IllegalArgumentException if processors is empty
      */
-    private void validatePreconditions(List<Processor> processors) {
-        if (processors.size() != 1) {
-            throw new IllegalArgumentException(
-                    "Round Robin strategy requires exactly one processor");
-        }
+    @Override
+    public SchedulingSession openSession(List<Processor> processors) {
+        return new Session(processors);
     }
     
     /**
-     * Executes the main round robin scheduling algorithm.
-     * @param sortedTasks tasks sorted by arrival time
-     * @param processor the single processor to use
-     * @return list of scheduled tasks
+     * Event-driven simulation of multi-queue round robin.
+     * Events are quantum boundaries of the processors and, while a processor is idle, task
+     * arrivals. Tasks arriving while every processor is busy are admitted at the next
+     * quantum boundary. A task alone on its processor runs across the boundaries before the
+     * next arrival in one slice: each of them would only requeue it and start it again, so
+     * they are no events, and the listener sees one dispatch for the whole run.
+     *
+     * The quantum loop does not allocate: admitted tasks live in recycled slots of primitive
+     * arrays, the ready queues are ring buffers of slot numbers and the last execution on every
+     * processor is extended in place by a {@link SliceMerger}. Objects are only created per
+     * task and per emitted ScheduledTask.
      */
-    private List<ScheduledTask> executeRoundRobinScheduling(List<Task> sortedTasks, 
-                                                            Processor processor) {
-        List<ScheduledTask> result = new ArrayList<>();
-        Queue<TaskState> readyQueue = new LinkedList<>();
-        int currentTime = 0;
-        int taskIndex = 0;
+    private final class Session extends AbstractSchedulingSession {
+        /** Ready queue per processor, holding task slots. */
+        private final IntDeque[] readyQueues;
+        /** Task and remaining time per slot; freed slots are reused by later arrivals. */
+        private Task[] slotTasks = new Task[16];
+        private long[] remainingTimes = new long[16];
+        private final IntDeque freeSlots = new IntDeque(16);
+        private int slotCount;
+        /** Slot running on each processor, -1 if idle. */
+        private final int[] running;
+        private final long[] sliceStart;
+        /** Last execution per processor, held back while the next quantum may still merge. */
+        private final SliceMerger slices;
+        private final ContextSwitches switches;
+        private final int[] load;
+        /** Busy processors keyed by the end of their current quantum. */
+        private final IndexedHeap sliceEnds;
+        /** Idle processors, lowest id first. */
+        private final IndexedHeap idleProcessors;
+        /** Idle processors that may have work in their own queue. */
+        private final IndexedHeap pendingProcessors;
+        /** All processors keyed by load, and by negated load. */
+        private final IndexedHeap leastLoaded;
+        private final IndexedHeap mostLoaded;
+        private long currentTime;
+        private int queuedCount;
+        /** Limit of the running {@link #simulate(long)} call. */
+        private long limit;
         
-        while (taskIndex < sortedTasks.size() || !readyQueue.isEmpty()) {
-            taskIndex = addNewlyArrivedTasks(sortedTasks, readyQueue, currentTime, taskIndex);
-            
-            if (!readyQueue.isEmpty()) {
-                currentTime = executeTaskFromQueue(readyQueue, result, processor, currentTime);
+        Session(List<Processor> processors) {
+            super(processors, "Round Robin");
+            int nrProcessors = processors.size();
+            this.readyQueues = new IntDeque[nrProcessors];
+            this.running = new int[nrProcessors];
+            this.sliceStart = new long[nrProcessors];
+            this.slices = new SliceMerger(this, nrProcessors, listener);
+            this.switches = new ContextSwitches(overhead, nrProcessors, listener);
+            this.load = new int[nrProcessors];
+            this.sliceEnds = new IndexedHeap(nrProcessors);
+            this.idleProcessors = new IndexedHeap(nrProcessors);
+            this.pendingProcessors = new IndexedHeap(nrProcessors);
+            this.leastLoaded = new IndexedHeap(nrProcessors);
+            this.mostLoaded = new IndexedHeap(nrProcessors);
+            for (int i = 0; i < nrProcessors; i++) {
+                readyQueues[i] = new IntDeque(16);
+                running[i] = -1;
+                idleProcessors.add(i, 0);
+                leastLoaded.add(i, 0);
+                mostLoaded.add(i, 0);
+            }
+        }
+        
+        @Override
+        protected void simulate(long limit) {
+            this.limit = limit;
+            while (currentTime < limit) {
+                addNewlyArrivedTasks();
+                dispatchIdleProcessors();
+                
+                long nextEventTime;
+                if (!sliceEnds.isEmpty()) {
+                    nextEventTime = findNextEventTime();
+                } else if (!arrivals.isEmpty()) {
+                    nextEventTime = advanceToNextArrival();
+                } else {
+                    break;
+                }
+                if (nextEventTime >= limit) {
+                    break;
+                }
+                
+                currentTime = nextEventTime;
+                endSlices();
+            }
+            emitFinishedSlices();
+        }
+        
+        /**
+         * Adds newly arrived tasks to the ready queue of the least loaded processor.
+         */
+        private void addNewlyArrivedTasks() {
+            while (!arrivals.isEmpty() && arrivals.peekFirst().getArrivalTime() <= currentTime) {
+                int processor = leastLoaded.peek();
+                readyQueues[processor].addLast(allocateSlot(arrivals.pollFirst()));
+                queuedCount++;
+                changeLoad(processor, 1);
+                markPending(processor);
+            }
+        }
+        
+        /**
+         * Stores an admitted task in a free slot.
+         * @param task the task
+         * @return its slot
+         */
+        private int allocateSlot(Task task) {
+            int slot;
+            if (!freeSlots.isEmpty()) {
+                slot = freeSlots.pollFirst();
             } else {
-                currentTime = advanceToNextArrival(sortedTasks, taskIndex, currentTime);
+                if (slotCount == slotTasks.length) {
+                    slotTasks = Arrays.copyOf(slotTasks, slotCount * 2);
+                    remainingTimes = Arrays.copyOf(remainingTimes, slotCount * 2);
+                }
+                slot = slotCount++;
             }
+            slotTasks[slot] = task;
+            remainingTimes[slot] = task.getLength();
+            return slot;
         }
         
-        return result;
-    }
-    
-    /**
-     * Adds newly arrived tasks to the ready queue.
-     * @param sortedTasks tasks sorted by arrival time
-     * @param readyQueue queue of ready tasks
-     * @param currentTime current simulation time
-     * @param taskIndex current task index
-     * @return updated task index
-     */
-    private int addNewlyArrivedTasks(List<Task> sortedTasks, Queue<TaskState> readyQueue, 
-                                     int currentTime, int taskIndex) {
-        while (taskIndex < sortedTasks.size() 
-               && sortedTasks.get(taskIndex).getArrivalTime() <= currentTime) {
-            Task arrivedTask = sortedTasks.get(taskIndex);
-            readyQueue.offer(new TaskState(arrivedTask, arrivedTask.getLength()));
-            taskIndex++;
-        }
-        return taskIndex;
-    }
-    
-    /**
-     * Executes a task from the ready queue for one quantum.
-     * @param readyQueue queue of ready tasks
-     * @param result list of scheduled tasks
-     * @param processor the processor
-     * @param currentTime current simulation time
-     * @return updated current time
-     */
-    private int executeTaskFromQueue(Queue<TaskState> readyQueue, List<ScheduledTask> result, 
-                                     Processor processor, int currentTime) {
-        TaskState currentTask = readyQueue.poll();
-        int startTime = currentTime;
-        long executionTime = Math.min(quantum, currentTask.remainingTime);
+        /**
+         * Lets idle processors take the head of their own queue, then lets the remaining
+         * idle processors steal while any task is still queued.
+         */
+        private void dispatchIdleProcessors() {
+            while (!pendingProcessors.isEmpty()) {
+                int processor = pendingProcessors.poll();
+                IntDeque queue = readyQueues[processor];
+                if (idleProcessors.contains(processor) && !queue.isEmpty()) {
+                    queuedCount--;
+                    executeTaskFromQueue(queue.pollFirst(), processor);
+                }
+            }
+            while (queuedCount > 0 && !idleProcessors.isEmpty()) {
+                int thief = idleProcessors.peek();
+                int victim = mostLoaded.peek();
+                queuedCount--;
+                changeLoad(victim, -1);
+                changeLoad(thief, 1);
+                executeTaskFromQueue(readyQueues[victim].pollLast(), thief);
+            }
+        }
         
-        currentTime += (int) executionTime;
-        currentTask.remainingTime -= executionTime;
+        /**
+         * Starts a task on an idle processor for one quantum, or for as many quanta as it
+         * certainly runs without interruption if no other task waits for the processor.
+         * @param slot the slot of the task to run
+         * @param processor the idle processor
+         */
+        private void executeTaskFromQueue(int slot, int processor) {
+            long startTime = switches.sliceStart(processor, slotTasks[slot], currentTime);
+            long executionTime = Math.min(quantum, remainingTimes[slot]);
+            if (readyQueues[processor].isEmpty() && remainingTimes[slot] > quantum) {
+                executionTime = uninterruptedRunTime(startTime, remainingTimes[slot]);
+            }
+            remainingTimes[slot] -= executionTime;
+            
+            idleProcessors.remove(processor);
+            running[processor] = slot;
+            sliceStart[processor] = startTime;
+            sliceEnds.add(processor, Timeline.add(startTime, executionTime));
+            listener.taskDispatched(processor, slotTasks[slot].getId(), startTime, queuedCount);
+        }
         
-        ScheduledTask newScheduledTask = createScheduledTask(currentTask.task, processor, 
-                                                             startTime, currentTime);
-        addOrMergeScheduledTask(result, newScheduledTask, startTime);
+        /**
+         * Computes how long a task that is alone on its processor keeps running.
+         * Only an arriving task can join the processor's queue (stealing takes from other
+         * queues), and an arrival is admitted at the first event at or after its arrival time.
+         * Every quantum boundary of the processor before the next arrival therefore just
+         * requeues the task and starts it again; those rounds are skipped in one step, and the
+         * run ends at the first boundary at or after the next arrival, or at the limit while
+         * later arrivals may still be submitted.
+         * @param startTime start of the run, after any switch overhead
+         * @param remainingTime remaining time of the task, more than one quantum
+         * @return the run time: whole quanta, or the remaining time if it completes first
+         */
+        private long uninterruptedRunTime(long startTime, long remainingTime) {
+            long horizon = limit;
+            if (!arrivals.isEmpty()) {
+                horizon = Math.min(horizon, arrivals.peekFirst().getArrivalTime());
+            }
+            if (horizon == Timeline.END_OF_TIME) {
+                return remainingTime;
+            }
+            
+            // Number of quanta up to the first boundary at or after the horizon; the overhead
+            // may already reach past it
+            long quanta = horizon <= startTime ? 1 : (horizon - startTime - 1) / quantum + 1;
+            return quanta > remainingTime / quantum ? remainingTime : quanta * quantum;
+        }
         
-        if (currentTask.remainingTime > 0) {
-            readyQueue.offer(currentTask);
+        /**
+         * Finds the next event: the earliest quantum boundary, or the next arrival if a
+         * processor is idle and could start it right away.
+         * @return next event time
+         */
+        private long findNextEventTime() {
+            long nextEventTime = sliceEnds.peekKey();
+            if (!idleProcessors.isEmpty() && !arrivals.isEmpty()) {
+                nextEventTime = Math.min(nextEventTime, arrivals.peekFirst().getArrivalTime());
+            }
+            return nextEventTime;
         }
         
-        return currentTime;
-    }
-    
-    /**
-     * Creates a scheduled task for the given parameters.
-     * @param task the task
-     * @param processor the processor
-     * @param startTime start time
-     * @param endTime end time
-     * @return new ScheduledTask
-     */
-    private ScheduledTask createScheduledTask(Task task, Processor processor, 
-                                              long startTime, int endTime) {
-        return new ScheduledTask(task, processor.getId(), (int) startTime, endTime);
-    }
-    
-    /**
-     * Adds a scheduled task to the result, merging with previous if possible.
-     * @param result list of scheduled tasks
-     * @param newTask new task to add
-     * @param startTime start time of the new task
-     */
-    private void addOrMergeScheduledTask(List<ScheduledTask> result, ScheduledTask newTask, 
-                                         long startTime) {
-        if (!result.isEmpty()) {
-            ScheduledTask lastScheduled = result.get(result.size() - 1);
-            if (canMergeWithPrevious(lastScheduled, newTask, startTime)) {
-                result.remove(result.size() - 1);
-                result.add(createMergedTask(lastScheduled, newTask));
-                return;
+        /**
+         * Ends every quantum that finishes at the current time. Unfinished tasks go to the
+         * back of their processor's queue, finished tasks leave the system.
+         */
+        private void endSlices() {
+            while (!sliceEnds.isEmpty() && sliceEnds.peekKey() <= currentTime) {
+                int processor = sliceEnds.poll();
+                int slot = running[processor];
+                running[processor] = -1;
+                idleProcessors.add(processor, 0);
+                
+                slices.add(processor, slotTasks[slot], sliceStart[processor], currentTime);
+                switches.sliceEnded(processor, slotTasks[slot], currentTime);
+                
+                if (remainingTimes[slot] > 0) {
+                    listener.taskPreempted(processor, slotTasks[slot].getId(), currentTime);
+                    readyQueues[processor].addLast(slot);
+                    queuedCount++;
+                } else {
+                    listener.taskCompleted(processor, slotTasks[slot].getId(), currentTime);
+                    slotTasks[slot] = null;
+                    freeSlots.addLast(slot);
+                    changeLoad(processor, -1);
+                }
+                markPending(processor);
             }
         }
-        result.add(newTask);
-    }
-    
-    /**
-     * Checks if a task can be merged with the previous execution.
-     * @param lastScheduled last scheduled task
-     * @param newTask new task
-     * @param startTime start time of new task
-     * @return true if tasks can be merged
-     */
-    private boolean canMergeWithPrevious(ScheduledTask lastScheduled, ScheduledTask newTask, 
-                                         long startTime) {
-        return lastScheduled.getTask().equals(newTask.getTask()) 
-               && lastScheduled.getEndTime() == startTime;
-    }
-    
-    /**
-     * Creates a merged task from two consecutive executions.
-     * @param lastScheduled previous execution
-     * @param newTask current execution
-     * @return merged ScheduledTask
-     */
-    private ScheduledTask createMergedTask(ScheduledTask lastScheduled, ScheduledTask newTask) {
-        return new ScheduledTask(newTask.getTask(), newTask.getProcessorId(),
-                                 lastScheduled.getStartTime(), newTask.getEndTime());
-    }
-    
-    /**
-     * Advances time to the next task arrival.
-     * @param sortedTasks tasks sorted by arrival time
-     * @param taskIndex current task index
-     * @param currentTime current simulation time
-     * @return updated current time
-     */
-    private int advanceToNextArrival(List<Task> sortedTasks, int taskIndex, int currentTime) {
-        if (taskIndex < sortedTasks.size()) {
-            return Math.max(currentTime, sortedTasks.get(taskIndex).getArrivalTime());
+        
+        /**
+         * Emits the held-back executions that the running quanta can no longer extend.
+         */
+        private void emitFinishedSlices() {
+            for (int processor = 0; processor < running.length; processor++) {
+                int slot = running[processor];
+                slices.emitUnlessContinued(processor, slot < 0 ? null : slotTasks[slot],
+                                           sliceStart[processor]);
+            }
+        }
+        
+        /**
+         * Advances time to the next task arrival.
+         * @pre {@code !arrivals.isEmpty()}
+         * @return updated current time
+         */
+        private long advanceToNextArrival() {
+            return Math.max(currentTime, arrivals.peekFirst().getArrivalTime());
+        }
+        
+        /**
+         * Marks an idle processor for dispatch from its own queue.
+         * @param processor the processor
+         */
+        private void markPending(int processor) {
+            if (idleProcessors.contains(processor) && !pendingProcessors.contains(processor)) {
+                pendingProcessors.add(processor, 0);
+            }
         }
-        return currentTime;
-    }
-    
-    /**
-     * Internal class to track task state in the ready queue.
-     */
-    private static class TaskState {
-        final Task task;
-        long remainingTime;
         
-        TaskState(Task task, long remainingTime) {
-            this.task = task;
-            this.remainingTime = remainingTime;
+        /**
+         * Changes the number of tasks queued on or running on a processor.
+         * @param processor the processor
+         * @param delta the change
+         */
+        private void changeLoad(int processor, int delta) {
+            load[processor] += delta;
+            leastLoaded.update(processor, load[processor]);
+            mostLoaded.update(processor, -load[processor]);
         }
     }
 }
@@ -8,6 +8,27 @@ import java.util.ArrayList;
  * <!--//# END TODO-->
  */
 public class SJFStrategy implements Scheduler {
+    /** Receives the scheduling decisions. */
+    private final SchedulerListener listener;
+
+    /**
+     * Constructor for the SJF Strategy without instrumentation.
+     */
+    public SJFStrategy() {
+        this(SchedulerListener.NONE);
+    }
+
+    /**
+     * Constructor for the SJF Strategy reporting its decisions to a listener.
+     * @param listener receives dispatches, preemptions, completions and merges
+     * @throws IllegalArgumentException if listener is null
+     */
+    public SJFStrategy(SchedulerListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.listener = listener;
+    }
 
     /**
      * A method to schedule a list of tasks on a list of tasks based on SJF.
@@ -17,142 +38,429 @@ public class SJFStrategy implements Scheduler {
      */
     @Override
     public List<ScheduledTask> schedule(List<Task> tasks, List<Processor> processors) {
-        List<ScheduledTask> result = new ArrayList<>();
         if (tasks.isEmpty()) {
-            return result;
+            return new ArrayList<>();
         }
         
         // Sort tasks by arrival time first
-        List<Task> sortedTasks = new ArrayList<>(tasks);
-        sortedTasks.sort((t1, t2) -> Integer.compare(t1.getArrivalTime(), t2.getArrivalTime()));
-        
-        // Track when each processor becomes free
-        int[] processorFreeTime = new int[processors.size()];
+        List<Task> sortedTasks = SortedTaskList.sortedByArrival(tasks);
         
-        // Keep track of which tasks have been scheduled
-        boolean[] scheduled = new boolean[sortedTasks.size()];
-        int scheduledCount = 0;
-        
-        while (scheduledCount < sortedTasks.size()) {
-            int earliestProcessor = findEarliestAvailableProcessor(processorFreeTime);
-            int currentTime = processorFreeTime[earliestProcessor];
-            
-            List<Integer> availableTasks = findAvailableTasks(sortedTasks, scheduled, currentTime);
-            
-            if (availableTasks.isEmpty()) {
-                processorFreeTime[earliestProcessor] = findNextArrivalTime(sortedTasks, scheduled);
-                continue;
-            }
-            
-            int shortestTaskIndex = selectShortestTask(sortedTasks, availableTasks);
-            ScheduledTask scheduledTask = createScheduledTask(sortedTasks.get(shortestTaskIndex), 
-                                                            earliestProcessor, 
-                                                            processorFreeTime[earliestProcessor]);
-            result.add(scheduledTask);
-            
-            // Mark task as scheduled and update processor free time
-            scheduled[shortestTaskIndex] = true;
-            processorFreeTime[earliestProcessor] = scheduledTask.getEndTime();
-            scheduledCount++;
+        // Tasks are dispatched at the current time of a clock that never goes back, so the
+        // emission order is already the start-time order
+        return AbstractSchedulingSession.scheduleAll(openSession(processors), sortedTasks);
+    }
+    
+    /**
+     * Schedules a columnar batch without creating task objects. The decisions are the same as
+     * in the session: the engine works on positions in arrival order instead of tasks.
+     * @param tasks incoming tasks (unsorted)
+     * @param nrProcessors the number of processors
+     * @return the schedule ordered by start time
+     * @throws IllegalArgumentException if there are tasks but no processors
+     */
+    @Override
+    public ScheduleBatch schedule(TaskBatch tasks, int nrProcessors) {
+        ScheduleBatch result = new ScheduleBatch(tasks.size());
+        if (tasks.isEmpty()) {
+            return result;
+        }
+        if (nrProcessors < 1) {
+            throw new IllegalArgumentException("SJF strategy requires at least one processor");
         }
         
-        // Sort result by start time
-        result.sort((st1, st2) -> Integer.compare(st1.getStartTime(), st2.getStartTime()));
+        int[] order = tasks.arrivalOrder();
+        Engine<Void> engine = new Engine<>(new BatchPositions(tasks, order, result, listener),
+                                           nrProcessors);
+        for (int position = 0; position < order.length; position++) {
+            engine.submit(position);
+        }
+        engine.simulate(Timeline.END_OF_TIME);
         return result;
     }
     
     /**
-     * Finds the processor that becomes available earliest.
-     * @param processorFreeTime array of processor free times
-     * @return index of the earliest available processor
+     * Opens an SJF session. A dispatch at time t is emitted once the clock has passed t.
+     * @param processors list of available processors
+     * @return a new session
+     * @throws IllegalArgumentException if processors is empty
      */
-    private int findEarliestAvailableProcessor(int[] processorFreeTime) {
-        int earliest = 0;
-        for (int i = 1; i < processorFreeTime.length; i++) {
-            if (processorFreeTime[i] < processorFreeTime[earliest]) {
-                earliest = i;
-            }
-        }
-        return earliest;
+    @Override
+    public SchedulingSession openSession(List<Processor> processors) {
+        return new Session(processors, listener);
     }
     
     /**
-     * Finds all tasks that have arrived and are not yet scheduled.
-     * @param sortedTasks list of tasks sorted by arrival time
-     * @param scheduled array tracking which tasks are scheduled
-     * @param currentTime current simulation time
-     * @return list of indices of available tasks
+     * Returns the kernels that let {@link ParallelScheduler} simulate this strategy in
+     * segments. An instrumented strategy is not split, because its listener expects the
+     * events of one sequential run.
+     * @return the kernel factory, or null if the strategy reports to a listener
      */
-    private List<Integer> findAvailableTasks(List<Task> sortedTasks, boolean[] scheduled, 
-                                             int currentTime) {
-        List<Integer> availableTasks = new ArrayList<>();
-        for (int i = 0; i < sortedTasks.size(); i++) {
-            if (!scheduled[i] && sortedTasks.get(i).getArrivalTime() <= currentTime) {
-                availableTasks.add(i);
-            }
+    SegmentKernel.Factory segmentKernels() {
+        if (listener != SchedulerListener.NONE) {
+            return null;
         }
-        return availableTasks;
+        // A fresh kernel is adopted as it is, so it is created like any other
+        return (workload, fresh) -> new Kernel(workload);
     }
     
     /**
-     * Finds the next arrival time among unscheduled tasks.
-     * @param sortedTasks list of tasks sorted by arrival time
-     * @param scheduled array tracking which tasks are scheduled
-     * @return next arrival time
+     * SJF over positions in arrival order: the decisions of the batch path, the session and
+     * the segment kernel, which only feed it positions and receive its dispatches. The ready
+     * heap is keyed by length with the position as tie-breaker, so equally long tasks run in
+     * order of arrival; a task runs to completion on the idle processor with the lowest id.
+     * @param <T> what the ready heap holds per position
      */
-    private int findNextArrivalTime(List<Task> sortedTasks, boolean[] scheduled) {
-        int nextArrival = Integer.MAX_VALUE;
-        for (int i = 0; i < sortedTasks.size(); i++) {
-            if (!scheduled[i]) {
-                nextArrival = Math.min(nextArrival, sortedTasks.get(i).getArrivalTime());
+    static final class Engine<T> {
+        /**
+         * The tasks of an engine, by position in arrival order, and the receiver of its
+         * decisions.
+         * @param <T> what the ready heap holds per position
+         */
+        interface Positions<T> {
+            /**
+             * Returns the arrival time of the first submitted position not admitted yet.
+             * @param position the position
+             * @return its arrival time
+             */
+            long arrivalTime(long position);
+            
+            /**
+             * Returns the length of the first submitted position not admitted yet.
+             * @param position the position
+             * @return its length
+             */
+            long length(long position);
+            
+            /**
+             * Admits the first submitted position not admitted yet into the ready heap.
+             * @param position the position
+             * @return what the ready heap holds for it
+             */
+            T admit(long position);
+            
+            /**
+             * Receives a dispatch; the task runs from startTime to endTime.
+             * @param position the position
+             * @param task what the ready heap held for it
+             * @param processorId the processor it runs on
+             * @param startTime its start time
+             * @param endTime its end time
+             * @param waiting the number of tasks left in the ready heap
+             */
+            void dispatched(long position, T task, int processorId, long startTime,
+                            long endTime, int waiting);
+        }
+        
+        private final Positions<T> positions;
+        /** Processors free at the current time, ordered by id. */
+        private final IndexedHeap idleProcessors;
+        /** Busy processors, ordered by the time they become free. */
+        private final IndexedHeap busyProcessors;
+        /** Arrived but undispatched positions, shortest first (ties: earliest arrival). */
+        private final KeyedHeap<T> readyTasks = new KeyedHeap<>(16);
+        /** First submitted position not admitted yet; equal to submitted if there is none. */
+        private long nextArrival;
+        /** The position after the last one submitted. */
+        private long submitted;
+        private long currentTime;
+        private long latestEndTime;
+        
+        /**
+         * Creates an engine with every processor idle at time 0.
+         * @param positions the tasks and the receiver of the dispatches
+         * @param nrProcessors the number of processors
+         */
+        Engine(Positions<T> positions, int nrProcessors) {
+            this.positions = positions;
+            idleProcessors = new IndexedHeap(nrProcessors);
+            busyProcessors = new IndexedHeap(nrProcessors);
+            for (int i = 0; i < nrProcessors; i++) {
+                idleProcessors.add(i, 0);
+            }
+        }
+        
+        /**
+         * Hands over the next position; positions are consecutive, but the first one may be
+         * any.
+         * @param position the position
+         */
+        void submit(long position) {
+            if (nextArrival == submitted) {
+                nextArrival = position;
+            }
+            submitted = position + 1;
+        }
+        
+        /**
+         * Makes every dispatch before the limit. All positions arriving before it have been
+         * submitted.
+         * @param limit exclusive upper bound on the dispatch times
+         * @throws ArithmeticException if a task would end beyond {@code Long.MAX_VALUE}
+         */
+        void simulate(long limit) {
+            if (currentTime >= limit) {
+                return;
+            }
+            
+            while (!readyTasks.isEmpty() || nextArrival < submitted) {
+                if (!awaitIdleProcessor(limit)) {
+                    return;
+                }
+                
+                admitArrivals();
+                
+                if (readyTasks.isEmpty()) {
+                    if (!awaitNextArrival(limit)) {
+                        return;
+                    }
+                    continue;
+                }
+                
+                dispatchShortestTask();
+            }
+        }
+        
+        /**
+         * Tells whether nothing waits and every processor is free at a time.
+         * @param time the time
+         * @return true if the engine is drained at that time
+         */
+        boolean isDrained(long time) {
+            return nextArrival == submitted && readyTasks.isEmpty() && latestEndTime <= time;
+        }
+        
+        /**
+         * Advances the clock to the time the first busy processor frees up if none is idle.
+         * @param limit exclusive upper bound on the new time
+         * @return true if a processor is idle, false if none frees up before the limit
+         */
+        private boolean awaitIdleProcessor(long limit) {
+            if (idleProcessors.isEmpty()) {
+                if (busyProcessors.peekKey() >= limit) {
+                    return false;
+                }
+                currentTime = busyProcessors.peekKey();
+                releaseProcessors();
+            }
+            return true;
+        }
+        
+        /**
+         * Advances the clock to the next arrival; every processor that frees up before it
+         * waits for it.
+         * @param limit exclusive upper bound on the new time
+         * @return true if a task arrives before the limit
+         */
+        private boolean awaitNextArrival(long limit) {
+            if (nextArrival == submitted || positions.arrivalTime(nextArrival) >= limit) {
+                return false;
+            }
+            currentTime = positions.arrivalTime(nextArrival);
+            releaseProcessors();
+            return true;
+        }
+        
+        /**
+         * Moves every position that has arrived by the current time into the ready heap.
+         */
+        private void admitArrivals() {
+            while (nextArrival < submitted && positions.arrivalTime(nextArrival) <= currentTime) {
+                long length = positions.length(nextArrival);
+                readyTasks.add(length, nextArrival, positions.admit(nextArrival));
+                nextArrival++;
+            }
+        }
+        
+        /**
+         * Runs the shortest ready position to completion on the idle processor with the
+         * lowest id.
+         */
+        private void dispatchShortestTask() {
+            long length = readyTasks.peekKey();
+            long position = readyTasks.peekSequence();
+            T task = readyTasks.poll();
+            int processorId = idleProcessors.poll();
+            long endTime = Timeline.add(currentTime, length);
+            positions.dispatched(position, task, processorId, currentTime, endTime,
+                                 readyTasks.size());
+            latestEndTime = Math.max(latestEndTime, endTime);
+            
+            if (endTime == currentTime) {
+                idleProcessors.add(processorId, 0);
+            } else {
+                busyProcessors.add(processorId, endTime);
+            }
+        }
+        
+        /**
+         * Moves every busy processor that is free at the current time to the idle set.
+         */
+        private void releaseProcessors() {
+            while (!busyProcessors.isEmpty() && busyProcessors.peekKey() <= currentTime) {
+                idleProcessors.add(busyProcessors.poll(), 0);
             }
         }
-        return nextArrival;
     }
     
     /**
-     * Selects the shortest task from available tasks.
-     * @param sortedTasks list of tasks sorted by arrival time
-     * @param availableTasks list of indices of available tasks
-     * @return index of the shortest task
+     * Feeds a columnar batch to the engine and records its dispatches.
      */
-    private int selectShortestTask(List<Task> sortedTasks, List<Integer> availableTasks) {
-        int shortestTaskIndex = availableTasks.get(0);
-        for (int taskIndex : availableTasks) {
-            if (isTaskShorter(sortedTasks.get(taskIndex), sortedTasks.get(shortestTaskIndex))) {
-                shortestTaskIndex = taskIndex;
-            }
+    private static final class BatchPositions implements Engine.Positions<Void> {
+        private final TaskBatch tasks;
+        /** Index of the task at every position. */
+        private final int[] order;
+        private final ScheduleBatch result;
+        private final SchedulerListener listener;
+        
+        BatchPositions(TaskBatch tasks, int[] order, ScheduleBatch result,
+                       SchedulerListener listener) {
+            this.tasks = tasks;
+            this.order = order;
+            this.result = result;
+            this.listener = listener;
+        }
+        
+        @Override
+        public long arrivalTime(long position) {
+            return tasks.getArrivalTime(order[(int) position]);
+        }
+        
+        @Override
+        public long length(long position) {
+            return tasks.getLength(order[(int) position]);
+        }
+        
+        @Override
+        public Void admit(long position) {
+            return null;
+        }
+        
+        @Override
+        public void dispatched(long position, Void task, int processorId, long startTime,
+                               long endTime, int waiting) {
+            int index = order[(int) position];
+            result.add(index, processorId, startTime, endTime);
+            listener.taskDispatched(processorId, tasks.getId(index), startTime, waiting);
+            listener.taskCompleted(processorId, tasks.getId(index), endTime);
         }
-        return shortestTaskIndex;
     }
     
     /**
-     * Compares two tasks to determine if the first is shorter.
-     * @param task1 first task to compare
-     * @param task2 second task to compare
-     * @return true if task1 is shorter than task2
+     * The engine over the positions of a workload. Once every processor is free, the next
+     * dispatch takes idle processors by id, so after a drain a fresh kernel continues exactly
+     * like the true one and is adopted as it is.
      */
-    private boolean isTaskShorter(Task task1, Task task2) {
-        if (task1.getLength() < task2.getLength()) {
-            return true;
+    static final class Kernel extends SegmentKernel implements Engine.Positions<Void> {
+        private final Engine<Void> engine;
+        private boolean finished;
+        
+        /**
+         * Creates a kernel with every processor idle at time 0.
+         * @param workload the shared tasks and decisions
+         */
+        Kernel(Workload workload) {
+            super(workload, true);
+            engine = new Engine<>(this, workload.nrProcessors);
         }
-        if (task1.getLength() == task2.getLength()) {
-            // Tie-breaker: earlier arrival time (FCFS for same length)
-            return task1.getArrivalTime() < task2.getArrivalTime();
+        
+        @Override
+        void submit(int position) {
+            engine.submit(position);
+        }
+        
+        @Override
+        void advanceTo(long time) {
+            engine.simulate(time);
+        }
+        
+        @Override
+        void finish() {
+            if (!finished) {
+                finished = true;
+                engine.simulate(Timeline.END_OF_TIME);
+            }
+        }
+        
+        @Override
+        boolean isDrained(long time) {
+            return engine.isDrained(time);
+        }
+        
+        @Override
+        SegmentKernel adopt(SegmentKernel fresh, int position, int end) {
+            return fresh;
+        }
+        
+        @Override
+        public long arrivalTime(long position) {
+            return workload.arrivalTimes[(int) position];
+        }
+        
+        @Override
+        public long length(long position) {
+            return workload.lengths[(int) position];
+        }
+        
+        @Override
+        public Void admit(long position) {
+            return null;
+        }
+        
+        @Override
+        public void dispatched(long position, Void task, int processorId, long startTime,
+                               long endTime, int waiting) {
+            dispatch((int) position, processorId, startTime);
         }
-        return false;
     }
     
     /**
-     * Creates a scheduled task with proper timing.
-     * @param task the task to schedule
-     * @param processorId the processor ID
-     * @param processorFreeTime when the processor becomes free
-     * @return a new ScheduledTask
+     * Incremental SJF: the engine over the submitted tasks, numbered in order of submission.
+     * The engine only asks about the first position it has not admitted, which is the head of
+     * the arrivals.
      */
-    private ScheduledTask createScheduledTask(Task task, int processorId, int processorFreeTime) {
-        int startTime = Math.max(task.getArrivalTime(), processorFreeTime);
-        int endTime = (int) (startTime + task.getLength());
-        return new ScheduledTask(task, processorId, startTime, endTime);
+    private static final class Session extends AbstractSchedulingSession
+            implements Engine.Positions<Task> {
+        private final Engine<Task> engine;
+        private final SchedulerListener listener;
+        private long submitted;
+        
+        Session(List<Processor> processors, SchedulerListener listener) {
+            super(processors, "SJF");
+            this.listener = listener;
+            engine = new Engine<>(this, processors.size());
+        }
+        
+        @Override
+        protected void taskSubmitted() {
+            engine.submit(submitted++);
+        }
+        
+        @Override
+        protected void simulate(long limit) {
+            engine.simulate(limit);
+        }
+        
+        @Override
+        public long arrivalTime(long position) {
+            return arrivals.peekFirst().getArrivalTime();
+        }
+        
+        @Override
+        public long length(long position) {
+            return arrivals.peekFirst().getLength();
+        }
+        
+        @Override
+        public Task admit(long position) {
+            return arrivals.pollFirst();
+        }
+        
+        @Override
+        public void dispatched(long position, Task task, int processorId, long startTime,
+                               long endTime, int waiting) {
+            emit(new ScheduledTask(task, processorId, startTime, endTime));
+            listener.taskDispatched(processorId, task.getId(), startTime, waiting);
+            listener.taskCompleted(processorId, task.getId(), endTime);
+        }
     }
 }
@@ -0,0 +1,107 @@
+import java.util.List;
+
+/**
+ * Class for the Shortest Remaining Time First Strategy (preemptive SJF).
+ *
+ * With several processors the strategy is globally preemptive: at any moment the processors
+ * run the arrived tasks that need the least time to complete (earlier arrival wins ties).
+ * Migration rules:
+ * 1. A running task keeps its processor until it completes or is preempted
+ * 2. An arriving task that needs strictly less time than the running task with the most
+ *    remaining time preempts that task in place; equal remaining times never preempt
+ * 3. A preempted task resumes on the processor it last ran on if that one is idle,
+ *    otherwise on the idle processor with the lowest id
+ */
+public class SRTFStrategy implements Scheduler {
+    /** Delay of the slices that do not continue the previous one on their processor. */
+    private final SwitchOverhead overhead;
+    /** Receives the scheduling decisions. */
+    private final SchedulerListener listener;
+    
+    /**
+     * Constructor for the SRTF Strategy without instrumentation.
+     */
+    public SRTFStrategy() {
+        this(SchedulerListener.NONE);
+    }
+    
+    /**
+     * Constructor for the SRTF Strategy reporting its decisions to a listener.
+     * @param listener receives dispatches, preemptions, completions and merges
+     * @throws IllegalArgumentException if listener is null
+     */
+    public SRTFStrategy(SchedulerListener listener) {
+        this(SwitchOverhead.NONE, listener);
+    }
+    
+    /**
+     * Constructor for the SRTF Strategy with context-switch and dispatch overhead.
+     * @param overhead delay of the slices that do not continue the previous one on their
+     *                 processor
+     * @param listener receives dispatches, preemptions, completions, merges, context switches
+     *                 and dispatch delays
+     * @throws IllegalArgumentException if overhead or listener is null
+     */
+    public SRTFStrategy(SwitchOverhead overhead, SchedulerListener listener) {
+        if (overhead == null) {
+            throw new IllegalArgumentException("Overhead cannot be null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.overhead = overhead;
+        this.listener = listener;
+    }
+    
+    /**
+     * A method to schedule a list of incoming tasks on their remaining time.
+     * @param tasks incoming tasks (unsorted)
+     * @param processors list of available processors (at least one)
+     * @return a list of ScheduledTasks sorted on start time, then processor id
+     * @throws IllegalArgumentException if processors is empty
+     */
+    @Override
+    public List<ScheduledTask> schedule(List<Task> tasks, List<Processor> processors) {
+        return AbstractSchedulingSession.scheduleSliced(this, tasks, processors);
+    }
+    
+    /**
+     * Opens an SRTF session. An execution is emitted once its task is preempted or completes
+     * and the next execution on that processor is not a direct continuation of it.
+     * @param processors list of available processors (at least one)
+     * @return a new session
+     * @throws IllegalArgumentException if processors is empty
+     */
+    @Override
+    public SchedulingSession openSession(List<Processor> processors) {
+        return new Session(processors, overhead, listener);
+    }
+    
+    /**
+     * Global preemptive SRTF: waiting tasks are keyed by remaining time, and the running task
+     * that completes last is the first to be preempted. The remaining time of a running task
+     * follows from its completion time, so running tasks are never re-keyed.
+     */
+    private static final class Session extends PreemptiveSession {
+        Session(List<Processor> processors, SwitchOverhead overhead,
+                SchedulerListener listener) {
+            super(processors, "SRTF", overhead, listener);
+        }
+        
+        @Override
+        protected long readyKey(TaskState task) {
+            return task.remainingTime;
+        }
+        
+        @Override
+        protected long preemptionKey(TaskState task, long completionTime) {
+            return -completionTime;
+        }
+        
+        @Override
+        protected boolean preempts(TaskState waiting, TaskState running, long time,
+                                   long runningRemainingTime) {
+            return waiting.remainingTime < runningRemainingTime;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar schedule produced from a {@link TaskBatch}: every entry is an execution of the
+ * task at some index of that batch on a processor from a start time until an end time.
+ * Entries are kept in the order the strategy produced them, which is ordered by start time.
+ */
+public final class ScheduleBatch {
+    private int[] taskIndices;
+    private int[] processorIds;
+    private long[] startTimes;
+    private long[] endTimes;
+    private int size;
+    
+    /**
+     * Creates an empty schedule.
+     * @param initialCapacity expected number of entries (grows when exceeded)
+     */
+    public ScheduleBatch(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.taskIndices = new int[capacity];
+        this.processorIds = new int[capacity];
+        this.startTimes = new long[capacity];
+        this.endTimes = new long[capacity];
+    }
+    
+    /**
+     * Converts a list of ScheduledTasks whose tasks are the objects of {@code tasks}.
+     * @param scheduledTasks the schedule
+     * @param tasks the tasks that were scheduled; element i becomes task index i
+     * @return a new schedule with the entries in list order
+     * @throws IllegalArgumentException if a ScheduledTask refers to a task not in the list
+     */
+    public static ScheduleBatch fromScheduledTasks(List<ScheduledTask> scheduledTasks,
+                                                   List<Task> tasks) {
+        Map<Task, Integer> indices = new IdentityHashMap<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            indices.put(tasks.get(i), i);
+        }
+        
+        ScheduleBatch schedule = new ScheduleBatch(scheduledTasks.size());
+        for (ScheduledTask scheduledTask : scheduledTasks) {
+            Integer index = indices.get(scheduledTask.getTask());
+            if (index == null) {
+                throw new IllegalArgumentException("Task " + scheduledTask.getTask().getId()
+                                                   + " is not part of the batch");
+            }
+            schedule.add(index, scheduledTask.getProcessorId(),
+                         scheduledTask.getStartTime(), scheduledTask.getEndTime());
+        }
+        return schedule;
+    }
+    
+    /**
+     * Appends an entry.
+     * @param taskIndex index of the task in its TaskBatch
+     * @param processorId processor it runs on
+     * @param startTime start of the execution
+     * @param endTime end of the execution
+     */
+    public void add(int taskIndex, int processorId, long startTime, long endTime) {
+        if (size == taskIndices.length) {
+            int capacity = size * 2;
+            taskIndices = Arrays.copyOf(taskIndices, capacity);
+            processorIds = Arrays.copyOf(processorIds, capacity);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            endTimes = Arrays.copyOf(endTimes, capacity);
+        }
+        taskIndices[size] = taskIndex;
+        processorIds[size] = processorId;
+        startTimes[size] = startTime;
+        endTimes[size] = endTime;
+        size++;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int getTaskIndex(int entry) {
+        return taskIndices[entry];
+    }
+    
+    public int getProcessorId(int entry) {
+        return processorIds[entry];
+    }
+    
+    public long getStartTime(int entry) {
+        return startTimes[entry];
+    }
+    
+    public long getEndTime(int entry) {
+        return endTimes[entry];
+    }
+    
+    /**
+     * Converts the schedule to ScheduledTasks. Entries of the same task share one Task object.
+     * @param tasks the batch the schedule was computed from
+     * @return a list whose i-th element corresponds to entry i
+     */
+    public List<ScheduledTask> toScheduledTasks(TaskBatch tasks) {
+        Task[] taskObjects = new Task[tasks.size()];
+        List<ScheduledTask> scheduledTasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int taskIndex = taskIndices[i];
+            if (taskObjects[taskIndex] == null) {
+                taskObjects[taskIndex] = tasks.toTask(taskIndex);
+            }
+            scheduledTasks.add(new ScheduledTask(taskObjects[taskIndex], processorIds[i],
+                                                 startTimes[i], endTimes[i]));
+        }
+        return scheduledTasks;
+    }
+}
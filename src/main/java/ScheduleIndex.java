@@ -0,0 +1,237 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Index over a schedule for point-in-time, range and idle-time queries.
+ *
+ * The executions of every processor are stored as a sorted segment in flat arrays of start
+ * times, end times and busy-run ends, with the segments of all processors laid out one after
+ * another. The executions of a processor never overlap, so within its segment both start
+ * and end times are sorted and every lookup is a binary search: a query for one processor
+ * takes O(log n), a query over all k processors O(k log n) plus the size of the answer.
+ * Executions of length zero never run at any point in time and are not indexed.
+ */
+public final class ScheduleIndex {
+    private final int nrProcessors;
+    /** The executions of processor p are at positions segmentStart[p] to segmentStart[p + 1]. */
+    private final int[] segmentStart;
+    private final long[] startTimes;
+    private final long[] endTimes;
+    /** End of the run of back-to-back executions that contains each execution. */
+    private final long[] busyUntil;
+    private final ScheduledTask[] executions;
+    
+    private ScheduleIndex(int nrProcessors, int[] segmentStart, ScheduledTask[] executions) {
+        this.nrProcessors = nrProcessors;
+        this.segmentStart = segmentStart;
+        this.executions = executions;
+        int size = executions.length;
+        this.startTimes = new long[size];
+        this.endTimes = new long[size];
+        this.busyUntil = new long[size];
+        for (int i = 0; i < size; i++) {
+            startTimes[i] = executions[i].getStartTime();
+            endTimes[i] = executions[i].getEndTime();
+        }
+        for (int p = 0; p < nrProcessors; p++) {
+            for (int i = segmentStart[p + 1] - 1; i >= segmentStart[p]; i--) {
+                boolean continued = i + 1 < segmentStart[p + 1] && startTimes[i + 1] == endTimes[i];
+                busyUntil[i] = continued ? busyUntil[i + 1] : endTimes[i];
+            }
+        }
+    }
+    
+    /**
+     * Builds the index of a schedule, e.g. the result of
+     * {@link SchedulerService#runScheduler(Scheduler, List, int)}. The entries may be in any
+     * order.
+     * @param schedule the executions
+     * @param nrProcessors the number of processors the schedule was computed for
+     * @return the index
+     * @throws IllegalArgumentException if schedule is null, nrProcessors is not positive, an
+     *                                  execution runs on another processor or two executions
+     *                                  on one processor overlap
+     */
+    public static ScheduleIndex of(List<ScheduledTask> schedule, int nrProcessors) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("Schedule cannot be null");
+        }
+        if (nrProcessors < 1) {
+            throw new IllegalArgumentException("Number of processors must be at least 1, got: "
+                                               + nrProcessors);
+        }
+        
+        // Stable sort by start time, then stable grouping by processor
+        ScheduledTask[] sorted = schedule.toArray(new ScheduledTask[0]);
+        RadixSort.sort(sorted, ScheduledTask::getStartTime);
+        int[] segmentStart = segmentStarts(sorted, nrProcessors);
+        return new ScheduleIndex(nrProcessors, segmentStart,
+                                 groupByProcessor(sorted, segmentStart));
+    }
+    
+    /**
+     * Counts the executions of every processor that have a length.
+     * @param sorted the executions
+     * @param nrProcessors the number of processors
+     * @return the position of the first execution of every processor, followed by the total
+     * @throws IllegalArgumentException if an execution runs on another processor
+     */
+    private static int[] segmentStarts(ScheduledTask[] sorted, int nrProcessors) {
+        int[] segmentStart = new int[nrProcessors + 1];
+        for (ScheduledTask scheduledTask : sorted) {
+            int processorId = scheduledTask.getProcessorId();
+            if (processorId < 0 || processorId >= nrProcessors) {
+                throw new IllegalArgumentException("Task " + scheduledTask.getTask().getId()
+                                                   + " runs on unknown processor "
+                                                   + processorId);
+            }
+            if (scheduledTask.getEndTime() > scheduledTask.getStartTime()) {
+                segmentStart[processorId + 1]++;
+            }
+        }
+        for (int p = 0; p < nrProcessors; p++) {
+            segmentStart[p + 1] += segmentStart[p];
+        }
+        return segmentStart;
+    }
+    
+    /**
+     * Lays out the executions that have a length in the segments of their processors,
+     * keeping their order.
+     * @param sorted the executions, ordered by start time
+     * @param segmentStart the segments, from {@link #segmentStarts}
+     * @return the executions by processor
+     * @throws IllegalArgumentException if two executions on one processor overlap
+     */
+    private static ScheduledTask[] groupByProcessor(ScheduledTask[] sorted, int[] segmentStart) {
+        int[] next = segmentStart.clone();
+        ScheduledTask[] executions = new ScheduledTask[segmentStart[segmentStart.length - 1]];
+        for (ScheduledTask scheduledTask : sorted) {
+            if (scheduledTask.getEndTime() > scheduledTask.getStartTime()) {
+                int position = next[scheduledTask.getProcessorId()]++;
+                ScheduledTask previous = position > segmentStart[scheduledTask.getProcessorId()]
+                                         ? executions[position - 1] : null;
+                if (previous != null && previous.getEndTime() > scheduledTask.getStartTime()) {
+                    throw new IllegalArgumentException("Tasks " + previous.getTask().getId()
+                                                       + " and "
+                                                       + scheduledTask.getTask().getId()
+                                                       + " overlap on processor "
+                                                       + scheduledTask.getProcessorId());
+                }
+                executions[position] = scheduledTask;
+            }
+        }
+        return executions;
+    }
+    
+    public int getNrProcessors() {
+        return nrProcessors;
+    }
+    
+    /**
+     * Looks up what ran on a processor at a point in time.
+     * @param processorId the processor
+     * @param time the point in time
+     * @return the execution with {@code startTime <= time < endTime}, or null if the
+     *         processor was idle
+     * @throws IllegalArgumentException if the processor does not exist
+     */
+    public ScheduledTask getTaskAt(int processorId, long time) {
+        int position = executionAt(checkProcessor(processorId), time);
+        return position < 0 ? null : executions[position];
+    }
+    
+    /**
+     * Lists the executions running at a point in time.
+     * @param time the point in time
+     * @return one execution per busy processor, ordered by processor id
+     */
+    public List<ScheduledTask> getRunningAt(long time) {
+        List<ScheduledTask> running = new ArrayList<>();
+        for (int p = 0; p < nrProcessors; p++) {
+            int position = executionAt(p, time);
+            if (position >= 0) {
+                running.add(executions[position]);
+            }
+        }
+        return running;
+    }
+    
+    /**
+     * Lists the executions that run at some point in a time range.
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return the executions overlapping {@code [from, to)}, ordered by processor id and then
+     *         by start time
+     * @throws IllegalArgumentException if {@code to < from}
+     */
+    public List<ScheduledTask> getRunningBetween(long from, long to) {
+        if (to < from) {
+            throw new IllegalArgumentException("Range ends at " + to + " before it starts at "
+                                               + from);
+        }
+        List<ScheduledTask> running = new ArrayList<>();
+        for (int p = 0; p < nrProcessors; p++) {
+            // End times are sorted within a segment: skip everything that ends by from
+            int position = firstAbove(endTimes, segmentStart[p], segmentStart[p + 1], from);
+            while (position < segmentStart[p + 1] && startTimes[position] < to) {
+                running.add(executions[position++]);
+            }
+        }
+        return running;
+    }
+    
+    /**
+     * Finds the first time a processor is idle.
+     * @param processorId the processor
+     * @param time the earliest time of interest
+     * @return the first time at or after {@code time} at which the processor runs nothing
+     * @throws IllegalArgumentException if the processor does not exist
+     */
+    public long getNextIdleTime(int processorId, long time) {
+        int position = executionAt(checkProcessor(processorId), time);
+        return position < 0 ? time : busyUntil[position];
+    }
+    
+    /**
+     * Finds the execution running on a processor at a point in time.
+     * @param processorId a valid processor
+     * @param time the point in time
+     * @return its position, or -1 if the processor is idle
+     */
+    private int executionAt(int processorId, long time) {
+        int position = firstAbove(startTimes, segmentStart[processorId],
+                                  segmentStart[processorId + 1], time) - 1;
+        return position >= segmentStart[processorId] && time < endTimes[position] ? position : -1;
+    }
+    
+    /**
+     * Binary search in a sorted range.
+     * @param values the array
+     * @param from first position of the range
+     * @param to end of the range (exclusive)
+     * @param value the value to search
+     * @return the first position in the range holding a value greater than {@code value}, or
+     *         {@code to} if there is none
+     */
+    private static int firstAbove(long[] values, int from, int to, long value) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    private int checkProcessor(int processorId) {
+        if (processorId < 0 || processorId >= nrProcessors) {
+            throw new IllegalArgumentException("Unknown processor: " + processorId);
+        }
+        return processorId;
+    }
+}
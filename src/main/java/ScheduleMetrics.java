@@ -0,0 +1,192 @@
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedule quality metrics computed in a single pass over the ScheduledTasks, in any order:
+ * the result of {@link Scheduler#schedule(List, List)} as well as the entries polled from a
+ * {@link SchedulingSession} while it runs.
+ *
+ * Per task: response time (first start minus arrival), turnaround time (completion minus
+ * arrival) and waiting time (turnaround minus length), each as a {@link TimeHistogram} with
+ * mean and percentiles. Per processor: busy time and utilization. Overall: makespan (end of
+ * the last execution). For tasks with a deadline: the number that completed after it and
+ * their tardiness (completion minus deadline).
+ *
+ * Memory is constant per processor plus one entry per task that has started but not yet
+ * completed; a task counts as completed once its executions add up to its length. Tasks that
+ * run in one piece (FCFS, SJF) never need an entry.
+ */
+public final class ScheduleMetrics {
+    private final long[] busyTimes;
+    /** Tasks with executions seen but not yet completed, by identity. */
+    private final Map<Task, TaskProgress> inProgress = new IdentityHashMap<>();
+    private final TimeHistogram responseTimes = new TimeHistogram();
+    private final TimeHistogram turnaroundTimes = new TimeHistogram();
+    private final TimeHistogram waitingTimes = new TimeHistogram();
+    private final TimeHistogram tardiness = new TimeHistogram();
+    private long makespan;
+    
+    /**
+     * Creates empty metrics.
+     * @param nrProcessors the number of processors of the schedule
+     * @throws IllegalArgumentException if {@code nrProcessors < 1}
+     */
+    public ScheduleMetrics(int nrProcessors) {
+        if (nrProcessors < 1) {
+            throw new IllegalArgumentException("Number of processors must be at least 1, got: "
+                                               + nrProcessors);
+        }
+        this.busyTimes = new long[nrProcessors];
+    }
+    
+    /**
+     * Computes the metrics of a complete schedule.
+     * @param schedule the ScheduledTasks
+     * @param nrProcessors the number of processors of the schedule
+     * @return the metrics
+     * @throws IllegalArgumentException if {@code nrProcessors < 1} or an entry refers to
+     *                                  another processor
+     */
+    public static ScheduleMetrics of(List<ScheduledTask> schedule, int nrProcessors) {
+        ScheduleMetrics metrics = new ScheduleMetrics(nrProcessors);
+        for (ScheduledTask scheduledTask : schedule) {
+            metrics.accept(scheduledTask);
+        }
+        return metrics;
+    }
+    
+    /**
+     * Adds one execution.
+     * @param scheduledTask the execution
+     * @throws IllegalArgumentException if it runs on a processor outside the schedule
+     */
+    public void accept(ScheduledTask scheduledTask) {
+        int processorId = scheduledTask.getProcessorId();
+        if (processorId < 0 || processorId >= busyTimes.length) {
+            throw new IllegalArgumentException("Processor " + processorId
+                                               + " is not part of the schedule");
+        }
+        long startTime = scheduledTask.getStartTime();
+        long endTime = scheduledTask.getEndTime();
+        busyTimes[processorId] += endTime - startTime;
+        makespan = Math.max(makespan, endTime);
+        
+        Task task = scheduledTask.getTask();
+        TaskProgress progress = inProgress.get(task);
+        if (progress == null) {
+            if (endTime - startTime >= task.getLength()) {
+                // Runs in one piece: no state needed
+                complete(task, startTime, endTime);
+                return;
+            }
+            progress = new TaskProgress(startTime);
+            inProgress.put(task, progress);
+        }
+        progress.firstStart = Math.min(progress.firstStart, startTime);
+        progress.completion = Math.max(progress.completion, endTime);
+        progress.executed += endTime - startTime;
+        if (progress.executed >= task.getLength()) {
+            inProgress.remove(task);
+            complete(task, progress.firstStart, progress.completion);
+        }
+    }
+    
+    private void complete(Task task, long firstStart, long completion) {
+        long turnaroundTime = completion - task.getArrivalTime();
+        responseTimes.record(firstStart - task.getArrivalTime());
+        turnaroundTimes.record(turnaroundTime);
+        waitingTimes.record(turnaroundTime - task.getLength());
+        if (completion > task.getDeadline()) {
+            tardiness.record(completion - task.getDeadline());
+        }
+    }
+    
+    /**
+     * Returns the number of completed tasks.
+     * @return tasks whose executions add up to their length
+     */
+    public long getTaskCount() {
+        return turnaroundTimes.getCount();
+    }
+    
+    /**
+     * Returns the number of tasks that have started but not completed. For a complete
+     * schedule this is 0.
+     * @return the number of started, incomplete tasks
+     */
+    public int getIncompleteTaskCount() {
+        return inProgress.size();
+    }
+    
+    /**
+     * Returns the end of the last execution.
+     * @return the makespan, 0 for an empty schedule
+     */
+    public long getMakespan() {
+        return makespan;
+    }
+    
+    public int getNrProcessors() {
+        return busyTimes.length;
+    }
+    
+    /**
+     * Returns the total time a processor spent executing tasks.
+     * @param processorId the processor
+     * @return its busy time
+     */
+    public long getBusyTime(int processorId) {
+        return busyTimes[processorId];
+    }
+    
+    /**
+     * Returns the fraction of the makespan a processor spent executing tasks.
+     * @param processorId the processor
+     * @return busy time divided by makespan, 0 for an empty schedule
+     */
+    public double getUtilization(int processorId) {
+        return makespan == 0 ? 0 : (double) busyTimes[processorId] / makespan;
+    }
+    
+    public TimeHistogram getResponseTimes() {
+        return responseTimes;
+    }
+    
+    public TimeHistogram getTurnaroundTimes() {
+        return turnaroundTimes;
+    }
+    
+    public TimeHistogram getWaitingTimes() {
+        return waitingTimes;
+    }
+    
+    /**
+     * Returns the number of completed tasks that completed after their deadline.
+     * @return the number of missed deadlines
+     */
+    public long getMissedDeadlineCount() {
+        return tardiness.getCount();
+    }
+    
+    /**
+     * Returns by how much the tasks that missed their deadline missed it.
+     * @return completion minus deadline of every late task
+     */
+    public TimeHistogram getTardiness() {
+        return tardiness;
+    }
+    
+    /**
+     * Progress of a task that has run but not completed.
+     */
+    private static class TaskProgress {
+        long firstStart;
+        long completion;
+        long executed;
+        
+        TaskProgress(long firstStart) {
+            this.firstStart = firstStart;
+        }
+    }
+}
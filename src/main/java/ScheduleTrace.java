@@ -0,0 +1,90 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A schedule in a compact binary trace file, read through a memory mapping.
+ * Every entry is a 24-byte record (start time, end time, task index, processor id;
+ * little-endian). The task index refers to the record of the task in the {@link TaskTrace}
+ * the schedule was computed from.
+ */
+public final class ScheduleTrace {
+    /** Size of a schedule record in bytes. */
+    public static final int RECORD_SIZE = 24;
+    /** "SCH1" in little-endian byte order. */
+    private static final int MAGIC = 0x31484353;
+    
+    private static final int START_TIME = 0;
+    private static final int END_TIME = 8;
+    private static final int TASK_INDEX = 16;
+    private static final int PROCESSOR_ID = 20;
+    
+    private final TraceFile file;
+    
+    private ScheduleTrace(TraceFile file) {
+        this.file = file;
+    }
+    
+    /**
+     * Maps a schedule trace.
+     * @param path the trace file
+     * @return the trace
+     * @throws IOException if the file cannot be read or is not a complete schedule trace
+     */
+    public static ScheduleTrace open(Path path) throws IOException {
+        return new ScheduleTrace(TraceFile.open(path, MAGIC, RECORD_SIZE, "schedule"));
+    }
+    
+    /**
+     * Writes a schedule as a schedule trace, keeping the order of the entries.
+     * @param path the trace file, replaced if it exists
+     * @param schedule the schedule
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, ScheduleBatch schedule) throws IOException {
+        TraceFile file = TraceFile.create(path, MAGIC, RECORD_SIZE, schedule.size());
+        for (int i = 0; i < schedule.size(); i++) {
+            ByteBuffer chunk = file.chunk(i);
+            int offset = file.offset(i);
+            chunk.putLong(offset + START_TIME, schedule.getStartTime(i));
+            chunk.putLong(offset + END_TIME, schedule.getEndTime(i));
+            chunk.putInt(offset + TASK_INDEX, schedule.getTaskIndex(i));
+            chunk.putInt(offset + PROCESSOR_ID, schedule.getProcessorId(i));
+        }
+    }
+    
+    public int size() {
+        return file.recordCount();
+    }
+    
+    public int getTaskIndex(int entry) {
+        return file.chunk(entry).getInt(file.offset(entry) + TASK_INDEX);
+    }
+    
+    public int getProcessorId(int entry) {
+        return file.chunk(entry).getInt(file.offset(entry) + PROCESSOR_ID);
+    }
+    
+    public long getStartTime(int entry) {
+        return file.chunk(entry).getLong(file.offset(entry) + START_TIME);
+    }
+    
+    public long getEndTime(int entry) {
+        return file.chunk(entry).getLong(file.offset(entry) + END_TIME);
+    }
+    
+    /**
+     * Copies the trace into a columnar schedule.
+     * @return a new schedule with the entries in file order
+     */
+    public ScheduleBatch toBatch() {
+        ScheduleBatch schedule = new ScheduleBatch(size());
+        for (int i = 0; i < size(); i++) {
+            ByteBuffer chunk = file.chunk(i);
+            int offset = file.offset(i);
+            schedule.add(chunk.getInt(offset + TASK_INDEX), chunk.getInt(offset + PROCESSOR_ID),
+                         chunk.getLong(offset + START_TIME), chunk.getLong(offset + END_TIME));
+        }
+        return schedule;
+    }
+}
@@ -8,8 +8,8 @@
 public class ScheduledTask {
     private final Task task;
     private final int processorId;
-    private final int startTime;
-    private final int endTime;
+    private final long startTime;
+    private final long endTime;
     
     /**
      * Constructor for a Scheduled Task.
@@ -18,7 +18,7 @@ public class ScheduledTask {
      * @param startTime - from what time.
      * @param endTime - until what time.
      */
-    public ScheduledTask(Task task, int processorId, int startTime, int endTime) {
+    public ScheduledTask(Task task, int processorId, long startTime, long endTime) {
         this.task = task;
         this.processorId = processorId;
         this.startTime = startTime;
@@ -33,11 +33,11 @@ public class ScheduledTask {
         return processorId;
     }
 
-    public int getStartTime() {
+    public long getStartTime() {
         return startTime;
     }
 
-    public int getEndTime() {
+    public long getEndTime() {
         return endTime;
     }
 }
\ No newline at end of file
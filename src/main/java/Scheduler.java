@@ -1,3 +1,4 @@
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -11,6 +12,33 @@ public interface Scheduler {
      * @param tasks incoming tasks (unsorted)
      * @param processors list of available processors
      * @return list of ScheduledTask ordered by start time
+     * @throws ArithmeticException if the schedule runs beyond {@code Long.MAX_VALUE}
      */
     List<ScheduledTask> schedule(List<Task> tasks, List<Processor> processors);
+
+    /**
+     * Schedules a columnar batch of tasks. Strategies that do not work on the columns directly
+     * fall back to {@link #schedule(List, List)} through the object representation.
+     * @param tasks incoming tasks (unsorted)
+     * @param nrProcessors the number of processors
+     * @return the schedule, ordered by start time, with task indices into {@code tasks}
+     * @throws IllegalArgumentException if the strategy does not support the processors
+     * @throws ArithmeticException if the schedule runs beyond {@code Long.MAX_VALUE}
+     */
+    default ScheduleBatch schedule(TaskBatch tasks, int nrProcessors) {
+        List<Processor> processors = new ArrayList<>(Math.max(0, nrProcessors));
+        for (int i = 0; i < nrProcessors; i++) {
+            processors.add(new Processor(i));
+        }
+        List<Task> taskObjects = tasks.toTasks();
+        return ScheduleBatch.fromScheduledTasks(schedule(taskObjects, processors), taskObjects);
+    }
+
+    /**
+     * Opens an incremental scheduling session that accepts tasks as they arrive.
+     * @param processors list of available processors
+     * @return a new session with the current time at 0
+     * @throws IllegalArgumentException if the strategy does not support the processors
+     */
+    SchedulingSession openSession(List<Processor> processors);
 }
\ No newline at end of file
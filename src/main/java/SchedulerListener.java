@@ -0,0 +1,87 @@
+/**
+ * Callbacks from the decision points of the strategies, for instrumentation.
+ *
+ * All methods default to doing nothing. Strategies use {@link #NONE} unless a listener is
+ * passed to their constructor; as long as no other listener class is in use at a call site,
+ * the JIT inlines the empty calls away, so disabled instrumentation costs nothing.
+ * Callbacks are invoked on the thread running the schedule; a listener shared by
+ * concurrently running schedules (e.g. in a {@link SchedulingSweep}) must be thread-safe.
+ */
+public interface SchedulerListener {
+    /** Listener that ignores every event. */
+    SchedulerListener NONE = new SchedulerListener() {
+    };
+    
+    /**
+     * A task starts or resumes executing on a processor.
+     * @param processorId the processor
+     * @param taskId id of the task
+     * @param time the start time
+     * @param queuedTasks number of tasks still waiting for a processor afterwards
+     */
+    default void taskDispatched(int processorId, int taskId, long time, int queuedTasks) {
+    }
+    
+    /**
+     * A running task is stopped before it completes (preemption or end of its quantum) and
+     * has to wait for a processor again. A round robin task that is alone on its processor is
+     * not stopped at the end of its quantum, since it would be dispatched again right away: it
+     * keeps running, and neither this event nor a new dispatch is reported.
+     * @param processorId the processor it ran on
+     * @param taskId id of the task
+     * @param time the time it is stopped
+     */
+    default void taskPreempted(int processorId, int taskId, long time) {
+    }
+    
+    /**
+     * A task completes.
+     * @param processorId the processor it completed on
+     * @param taskId id of the task
+     * @param time the completion time
+     */
+    default void taskCompleted(int processorId, int taskId, long time) {
+    }
+    
+    /**
+     * A processor starts a task other than the one it ran last. Reported by the strategies
+     * that run tasks in slices, before the dispatch, whether or not switching costs time.
+     * @param processorId the processor
+     * @param previousTaskId id of the task it ran last
+     * @param taskId id of the task it switches to
+     * @param time the dispatch time
+     */
+    default void contextSwitched(int processorId, int previousTaskId, int taskId, long time) {
+    }
+    
+    /**
+     * A slice starts later than it is dispatched because of the {@link SwitchOverhead} of the
+     * strategy; the processor is occupied in between.
+     * @param processorId the processor
+     * @param taskId id of the task
+     * @param time the dispatch time
+     * @param delay the time lost before the task runs
+     */
+    default void dispatchDelayed(int processorId, int taskId, long time, long delay) {
+    }
+    
+    /**
+     * An execution is merged into the previous execution of the same task on a processor
+     * instead of becoming a ScheduledTask of its own.
+     * @param processorId the processor
+     * @param taskId id of the task
+     */
+    default void executionMerged(int processorId, int taskId) {
+    }
+    
+    /**
+     * A task with a deadline completes after it. Reported by the deadline-driven strategies,
+     * right after {@link #taskCompleted}.
+     * @param processorId the processor it completed on
+     * @param taskId id of the task
+     * @param time the completion time
+     * @param deadline the deadline of the task
+     */
+    default void deadlineMissed(int processorId, int taskId, long time, long deadline) {
+    }
+}
@@ -1,3 +1,5 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,21 +23,117 @@ public class SchedulerService {
      *
      * @param strategy     the scheduler type
      * @param tasks        the tasks to be scheduled (all must have non‑negative 
-     *                     arrivalTime, length, id, priority)
+     *                     arrivalTime, length, id, priority); a {@link SortedTaskList}
+     *                     is scheduled without validating or sorting it again
      * @param nrProcessors the number of processors; must be ≥ 1
      * @return a list of ScheduledTasks sorted by start time
      * @throws IllegalArgumentException if {@code nrProcessors < 1}, or if any task 
      *                                   has a negative field
+     * @throws ArithmeticException if the schedule runs beyond {@code Long.MAX_VALUE}
      */
 
     public static List<ScheduledTask> runScheduler(Scheduler strategy,
             List<Task> tasks, int nrProcessors) {
         
         validateInputs(strategy, tasks, nrProcessors);
-        validateTasks(tasks);
+        // Validates while copying; the strategy schedules the sorted copy without copying it
+        SortedTaskList sortedTasks = SortedTaskList.of(tasks);
+        
+        List<Processor> processors = createProcessors(nrProcessors);
+        return strategy.schedule(sortedTasks, processors);
+    }
+    
+    /**
+     * Executes scheduling of a columnar batch using provided strategy.
+     *
+     * @param strategy     the scheduler type
+     * @param tasks        the tasks to be scheduled (fields are checked when added to the batch)
+     * @param nrProcessors the number of processors; must be ≥ 1
+     * @return the schedule ordered by start time, with task indices into {@code tasks}
+     * @throws IllegalArgumentException if {@code nrProcessors < 1}
+     * @throws ArithmeticException if the schedule runs beyond {@code Long.MAX_VALUE}
+     */
+    public static ScheduleBatch runScheduler(Scheduler strategy, TaskBatch tasks,
+            int nrProcessors) {
+        
+        if (tasks == null) {
+            throw new IllegalArgumentException("Task batch cannot be null");
+        }
+        validateInputs(strategy, List.of(), nrProcessors);
+        
+        return strategy.schedule(tasks, nrProcessors);
+    }
+    
+    /**
+     * Schedules a binary task trace into a binary schedule trace. The tasks are read from the
+     * memory-mapped trace straight into a {@link TaskBatch}, so no Task objects are created.
+     *
+     * @param strategy     the scheduler type
+     * @param taskTrace    a file written by {@link TaskTrace#write}
+     * @param nrProcessors the number of processors; must be ≥ 1
+     * @param scheduleTrace the file to write the schedule to (see {@link ScheduleTrace}),
+     *                     replaced if it exists
+     * @return the schedule ordered by start time, with task indices into the trace
+     * @throws IOException if a trace cannot be read or written
+     * @throws IllegalArgumentException if {@code nrProcessors < 1}, or if any task
+     *                                   has a negative field
+     * @throws ArithmeticException if the schedule runs beyond {@code Long.MAX_VALUE}
+     */
+    public static ScheduleBatch runScheduler(Scheduler strategy, Path taskTrace,
+            int nrProcessors, Path scheduleTrace) throws IOException {
+        
+        if (taskTrace == null || scheduleTrace == null) {
+            throw new IllegalArgumentException("Trace paths cannot be null");
+        }
+        ScheduleBatch schedule = runScheduler(strategy, TaskTrace.open(taskTrace).toBatch(),
+                                              nrProcessors);
+        ScheduleTrace.write(scheduleTrace, schedule);
+        return schedule;
+    }
+    
+    /**
+     * Executes scheduling using provided strategy and returns the schedule of every processor
+     * instead of one list. The strategy records the executions on their processor as it
+     * emits them, already in start-time order, so no global ordering is done.
+     *
+     * @param strategy     the scheduler type
+     * @param tasks        the tasks to be scheduled (all must have non‑negative 
+     *                     arrivalTime, length, id, priority)
+     * @param nrProcessors the number of processors; must be ≥ 1
+     * @return the processors, indexed by id; {@link Processor#getSchedule()} lists the
+     *         executions on a processor ordered by start time and
+     *         {@link Processor#getTaskAt(long)} looks one up by time
+     * @throws IllegalArgumentException if {@code nrProcessors < 1}, or if any task 
+     *                                   has a negative field
+     * @throws ArithmeticException if the schedule runs beyond {@code Long.MAX_VALUE}
+     */
+    public static List<Processor> runSchedulerPerProcessor(Scheduler strategy,
+            List<Task> tasks, int nrProcessors) {
+        
+        validateInputs(strategy, tasks, nrProcessors);
+        SortedTaskList sortedTasks = SortedTaskList.of(tasks);
         
         List<Processor> processors = createProcessors(nrProcessors);
-        return strategy.schedule(tasks, processors);
+        AbstractSchedulingSession.scheduleOnProcessors(strategy.openSession(processors),
+                                                       sortedTasks);
+        return processors;
+    }
+    
+    /**
+     * Computes waiting, turnaround and response times, utilization and makespan of a
+     * schedule in a single pass.
+     *
+     * @param schedule     the ScheduledTasks returned by {@code runScheduler}
+     * @param nrProcessors the number of processors the schedule was computed for
+     * @return the metrics
+     * @throws IllegalArgumentException if {@code nrProcessors < 1}, or if an entry runs on
+     *                                   another processor
+     */
+    public static ScheduleMetrics computeMetrics(List<ScheduledTask> schedule, int nrProcessors) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("Schedule cannot be null");
+        }
+        return ScheduleMetrics.of(schedule, nrProcessors);
     }
     
     /**
@@ -45,7 +143,7 @@ public class SchedulerService {
      * @param nrProcessors number of processors
      * @throws IllegalArgumentException if any parameter is invalid
      */
-    private static void validateInputs(Scheduler strategy, List<Task> tasks, int nrProcessors) {
+    static void validateInputs(Scheduler strategy, List<Task> tasks, int nrProcessors) {
         if (strategy == null) {
             throw new IllegalArgumentException("Strategy cannot be null");
         }
@@ -58,52 +156,48 @@ public class SchedulerService {
         }
     }
     
-    /**
-     * Validates all tasks in the list.
-     * @param tasks list of tasks to validate
-     * @throws IllegalArgumentException if any task is invalid
-     */
-    private static void validateTasks(List<Task> tasks) {
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            validateSingleTask(task, i);
-        }
-    }
-    
     /**
      * Validates a single task.
      * @param task the task to validate
      * @param index the index of the task in the list
      * @throws IllegalArgumentException if the task is invalid
      */
-    private static void validateSingleTask(Task task, int index) {
+    static void validateTask(Task task, int index) {
         if (task == null) {
             throw new IllegalArgumentException("Task at index " + index + " is null");
         }
-        validateTaskFields(task);
+        validateTaskFields(task.getId(), task.getPriority(), task.getLength(),
+                           task.getArrivalTime(), task.getDeadline());
     }
     
     /**
-     * Validates all fields of a task.
-     * @param task the task to validate
+     * Validates all fields of a task; also used for the tasks of a {@link TaskBatch}.
+     * @param id id of the task
+     * @param priority priority of the task
+     * @param length length of the task
+     * @param arrivalTime arrival time of the task
+     * @param deadline deadline of the task, or {@link Task#NO_DEADLINE}
      * @throws IllegalArgumentException if any field is invalid
      */
-    private static void validateTaskFields(Task task) {
-        if (task.getArrivalTime() < 0) {
-            throw new IllegalArgumentException("Task " + task.getId() 
-                                               + " has negative arrival time: " 
-                                               + task.getArrivalTime());
+    static void validateTaskFields(int id, int priority, long length, long arrivalTime,
+                                   long deadline) {
+        if (arrivalTime < 0) {
+            throw new IllegalArgumentException("Task " + id + " has negative arrival time: "
+                                               + arrivalTime);
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("Task " + id + " has negative length: " + length);
         }
-        if (task.getLength() < 0) {
-            throw new IllegalArgumentException("Task " + task.getId() 
-                                               + " has negative length: " + task.getLength());
+        if (id < 0) {
+            throw new IllegalArgumentException("Task has negative id: " + id);
         }
-        if (task.getId() < 0) {
-            throw new IllegalArgumentException("Task has negative id: " + task.getId());
+        if (priority < 0) {
+            throw new IllegalArgumentException("Task " + id + " has negative priority: "
+                                               + priority);
         }
-        if (task.getPriority() < 0) {
-            throw new IllegalArgumentException("Task " + task.getId() 
-                                               + " has negative priority: " + task.getPriority());
+        if (deadline < arrivalTime) {
+            throw new IllegalArgumentException("Task " + id + " has deadline " + deadline
+                                               + " before its arrival time: " + arrivalTime);
         }
     }
     
@@ -0,0 +1,98 @@
+/**
+ * Listener that counts the decisions of a strategy and records the distribution of the number
+ * of waiting tasks at every dispatch. Not thread-safe: use one instance per running schedule.
+ */
+public final class SchedulerStatistics implements SchedulerListener {
+    private long dispatches;
+    private long preemptions;
+    private long completions;
+    private long merges;
+    private long missedDeadlines;
+    private long contextSwitches;
+    private long switchOverhead;
+    private final TimeHistogram queueDepths = new TimeHistogram();
+    
+    @Override
+    public void taskDispatched(int processorId, int taskId, long time, int queuedTasks) {
+        dispatches++;
+        queueDepths.record(queuedTasks);
+    }
+    
+    @Override
+    public void taskPreempted(int processorId, int taskId, long time) {
+        preemptions++;
+    }
+    
+    @Override
+    public void taskCompleted(int processorId, int taskId, long time) {
+        completions++;
+    }
+    
+    @Override
+    public void executionMerged(int processorId, int taskId) {
+        merges++;
+    }
+    
+    @Override
+    public void contextSwitched(int processorId, int previousTaskId, int taskId, long time) {
+        contextSwitches++;
+    }
+    
+    @Override
+    public void dispatchDelayed(int processorId, int taskId, long time, long delay) {
+        switchOverhead += delay;
+    }
+    
+    @Override
+    public void deadlineMissed(int processorId, int taskId, long time, long deadline) {
+        missedDeadlines++;
+    }
+    
+    public long getDispatches() {
+        return dispatches;
+    }
+    
+    /**
+     * Returns the number of executions stopped before their task completed.
+     * @return the number of preemptions
+     */
+    public long getPreemptions() {
+        return preemptions;
+    }
+    
+    public long getCompletions() {
+        return completions;
+    }
+    
+    public long getMerges() {
+        return merges;
+    }
+    
+    public long getMissedDeadlines() {
+        return missedDeadlines;
+    }
+    
+    /**
+     * Returns the number of times a processor started a task other than the one it ran last.
+     * @return the number of context switches
+     */
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+    
+    /**
+     * Returns the processor time lost to dispatch latencies and context switches.
+     * @return the total overhead over all processors
+     */
+    public long getSwitchOverhead() {
+        return switchOverhead;
+    }
+    
+    /**
+     * Returns the distribution of the number of waiting tasks, sampled at every dispatch.
+     * @return the queue depth histogram
+     */
+    public TimeHistogram getQueueDepths() {
+        return queueDepths;
+    }
+}
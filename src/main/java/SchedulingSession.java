@@ -0,0 +1,61 @@
+/**
+ * Incremental (online) scheduling: tasks are submitted while the simulation runs, the clock is
+ * advanced explicitly and ScheduledTasks are emitted as soon as they can no longer change.
+ *
+ * Typical use by a dispatcher that feeds live arrivals:
+ * <pre>
+ *     SchedulingSession session = strategy.openSession(processors);
+ *     session.submit(task);          // arrivals in non-decreasing arrival time
+ *     session.advanceTo(now);        // decide everything that happens before now
+ *     ScheduledTask decision;
+ *     while ((decision = session.poll()) != null) { ... }
+ *     session.finish();              // no more arrivals, run to completion
+ * </pre>
+ * A session only keeps the tasks that have not completed yet and the emitted ScheduledTasks
+ * that have not been polled, so memory stays bounded by the live workload.
+ * Running a whole batch through a session gives exactly the schedule of
+ * {@link Scheduler#schedule(java.util.List, java.util.List)}.
+ */
+public interface SchedulingSession {
+    /**
+     * Submits a task.
+     * @param task the task; its arrival time must not lie before the current time or before
+     *             the arrival time of a previously submitted task
+     * @throws IllegalArgumentException if the task is null, has a negative length or arrives
+     *                                  out of order
+     * @throws IllegalStateException if the session is finished
+     */
+    void submit(Task task);
+
+    /**
+     * Advances the clock. Every decision that takes effect before {@code time} is made and
+     * emitted once final; afterwards only tasks arriving at or after {@code time} may be
+     * submitted.
+     * @param time the new current time
+     * @throws IllegalArgumentException if {@code time} lies before the current time or is
+     *                                  {@code Long.MAX_VALUE}
+     * @throws ArithmeticException if the schedule runs beyond {@code Long.MAX_VALUE}
+     * @throws IllegalStateException if the session is finished
+     */
+    void advanceTo(long time);
+
+    /**
+     * Declares that no more tasks will be submitted and runs the schedule to completion.
+     * Calling it again has no effect.
+     * @throws ArithmeticException if the schedule runs beyond {@code Long.MAX_VALUE}
+     */
+    void finish();
+
+    /**
+     * Retrieves and removes the next emitted ScheduledTask.
+     * Per processor, ScheduledTasks are emitted in order of start time.
+     * @return the next ScheduledTask, or null if none is available yet
+     */
+    ScheduledTask poll();
+
+    /**
+     * Returns the current time, i.e. the last time passed to {@link #advanceTo(long)}.
+     * @return the current time
+     */
+    long getCurrentTime();
+}
@@ -0,0 +1,100 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * What-if sweeps: schedules one workload under many configurations (strategy, quantum,
+ * number of processors) in parallel and compares the results.
+ *
+ * The runs are independent, so they are fanned out over a ForkJoinPool. All runs share a
+ * single {@link SortedTaskList}, so the tasks are validated and sorted once rather than by
+ * every run.
+ */
+public final class SchedulingSweep {
+    private final ForkJoinPool pool;
+    
+    /**
+     * Creates a sweep that runs on the common pool.
+     */
+    public SchedulingSweep() {
+        this(ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates a sweep that runs on the given pool.
+     * @param pool the pool that executes the runs
+     * @throws IllegalArgumentException if pool is null
+     */
+    public SchedulingSweep(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+    }
+    
+    /**
+     * Builds every combination of strategy and processor count.
+     * @param strategies strategies by label, in the order they should appear
+     * @param processorCounts the processor counts to try
+     * @return one configuration per combination, strategy-major
+     * @throws IllegalArgumentException if a processor count is below 1
+     */
+    public static List<SweepConfiguration> grid(Map<String, Scheduler> strategies,
+                                                int... processorCounts) {
+        List<SweepConfiguration> configurations = new ArrayList<>();
+        for (Map.Entry<String, Scheduler> strategy : strategies.entrySet()) {
+            for (int nrProcessors : processorCounts) {
+                configurations.add(new SweepConfiguration(strategy.getKey(), strategy.getValue(),
+                                                          nrProcessors));
+            }
+        }
+        return configurations;
+    }
+    
+    /**
+     * Runs every configuration on the same tasks.
+     * @param tasks the workload (unsorted)
+     * @param configurations the configurations to compare
+     * @return one result per configuration, in the order of the configurations
+     * @throws IllegalArgumentException if a task is invalid (see
+     *                                  {@link SchedulerService#runScheduler(Scheduler, List, int)})
+     * @throws ArithmeticException if a schedule runs beyond {@code Long.MAX_VALUE}
+     */
+    public List<SweepResult> run(List<Task> tasks, List<SweepConfiguration> configurations) {
+        SortedTaskList sharedTasks = SortedTaskList.of(tasks);
+        
+        List<ForkJoinTask<SweepResult>> runs = new ArrayList<>(configurations.size());
+        for (SweepConfiguration configuration : configurations) {
+            runs.add(pool.submit(() -> SweepResult.of(configuration,
+                    SchedulerService.runScheduler(configuration.getStrategy(), sharedTasks,
+                                                  configuration.getNrProcessors()))));
+        }
+        
+        List<SweepResult> results = new ArrayList<>(runs.size());
+        for (ForkJoinTask<SweepResult> run : runs) {
+            results.add(run.join());
+        }
+        return results;
+    }
+    
+    /**
+     * Formats results as a comparison table, one row per configuration.
+     * @param results the results of a sweep
+     * @return the table, with a header line
+     */
+    public static String formatTable(List<SweepResult> results) {
+        StringBuilder table = new StringBuilder(String.format("%-20s %10s %14s %14s %14s%n",
+                "strategy", "processors", "makespan", "mean wait", "mean turnaround"));
+        for (SweepResult result : results) {
+            SweepConfiguration configuration = result.getConfiguration();
+            table.append(String.format("%-20s %10d %14d %14.2f %14.2f%n",
+                                       configuration.getLabel(),
+                                       configuration.getNrProcessors(), result.getMakespan(),
+                                       result.getMeanWaitingTime(),
+                                       result.getMeanTurnaroundTime()));
+        }
+        return table.toString();
+    }
+}
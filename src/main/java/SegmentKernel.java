@@ -0,0 +1,171 @@
+import java.util.Arrays;
+
+/**
+ * Columnar simulation of a non-preemptive strategy over a range of tasks, the unit of work of
+ * {@link ParallelScheduler}. Tasks are identified by their position in arrival order; every
+ * task runs exactly once, so a decision is one processor and one start time per position,
+ * written into arrays shared by all kernels of a run.
+ *
+ * A kernel either continues the true schedule, or starts fresh at some position as if no task
+ * had arrived before it. Once both are drained at the arrival of a task (nothing waits and
+ * every processor is free), the fresh kernel's decisions from that task on are the true ones,
+ * up to the names of the processors; {@link #adopt} carries them over.
+ */
+abstract class SegmentKernel {
+    /**
+     * The tasks in arrival order and the decisions, shared by all kernels of a run.
+     */
+    static final class Workload {
+        final long[] arrivalTimes;
+        final long[] lengths;
+        final int nrProcessors;
+        /** Processor per position. */
+        final int[] processorIds;
+        /** Start time per position. */
+        final long[] startTimes;
+        
+        /**
+         * Creates a workload with room for the decisions.
+         * @param arrivalTimes arrival time per position, non-decreasing
+         * @param lengths length per position
+         * @param nrProcessors the number of processors
+         */
+        Workload(long[] arrivalTimes, long[] lengths, int nrProcessors) {
+            this.arrivalTimes = arrivalTimes;
+            this.lengths = lengths;
+            this.nrProcessors = nrProcessors;
+            this.processorIds = new int[arrivalTimes.length];
+            this.startTimes = new long[arrivalTimes.length];
+        }
+        
+        int size() {
+            return arrivalTimes.length;
+        }
+    }
+    
+    /**
+     * Creates the kernels of one strategy.
+     */
+    interface Factory {
+        /**
+         * Creates a kernel in the initial state of the strategy.
+         * @param workload the shared tasks and decisions
+         * @param fresh true if the kernel will be adopted later, false if it continues the
+         *              true schedule from the first task
+         * @return a new kernel
+         */
+        SegmentKernel create(Workload workload, boolean fresh);
+    }
+    
+    protected final Workload workload;
+    /** Positions in order of dispatch, or null if dispatches follow arrival order. */
+    private int[] dispatchLog;
+    private int logSize;
+    
+    /**
+     * Creates a kernel.
+     * @param workload the shared tasks and decisions
+     * @param logsDispatches true if tasks may be dispatched out of arrival order, so the
+     *                       kernel has to remember the order
+     */
+    protected SegmentKernel(Workload workload, boolean logsDispatches) {
+        this.workload = workload;
+        this.dispatchLog = logsDispatches ? new int[16] : null;
+    }
+    
+    /**
+     * Hands over the next task in arrival order; the kernel may decide it right away or keep
+     * it until it simulates past its arrival.
+     * @param position position of the task
+     * @throws ArithmeticException if the task would end beyond {@code Long.MAX_VALUE}
+     */
+    abstract void submit(int position);
+    
+    /**
+     * Decides every dispatch before the given time.
+     * @param time the time to simulate up to; not before any earlier call
+     * @throws ArithmeticException if a task would end beyond {@code Long.MAX_VALUE}
+     */
+    abstract void advanceTo(long time);
+    
+    /**
+     * Decides every remaining dispatch; later calls do nothing.
+     * @throws ArithmeticException if a task would end beyond {@code Long.MAX_VALUE}
+     */
+    abstract void finish();
+    
+    /**
+     * Tells whether the kernel, advanced to the given time, holds nothing that could affect
+     * a task arriving then, so that its decisions from then on match a fresh kernel's.
+     * @param time the current time
+     * @return true if no task waits and every processor is free at that time
+     */
+    abstract boolean isDrained(long time);
+    
+    /**
+     * Takes over the decisions a fresh kernel made from a position on. Both kernels are
+     * drained at the arrival of that position, this one has decided every task before it and
+     * the fresh one has seen every task up to {@code end}.
+     * @param fresh the fresh kernel
+     * @param position the first position to take over
+     * @param end the position after the last task the fresh kernel was given
+     * @return the kernel holding the true state after {@code end}
+     */
+    abstract SegmentKernel adopt(SegmentKernel fresh, int position, int end);
+    
+    /**
+     * Records the decision for a task.
+     * @param position position of the task
+     * @param processorId processor it runs on
+     * @param startTime its start time
+     */
+    protected final void dispatch(int position, int processorId, long startTime) {
+        workload.processorIds[position] = processorId;
+        workload.startTimes[position] = startTime;
+        if (dispatchLog != null) {
+            if (logSize == dispatchLog.length) {
+                dispatchLog = Arrays.copyOf(dispatchLog, logSize * 2);
+            }
+            dispatchLog[logSize++] = position;
+        }
+    }
+    
+    boolean logsDispatches() {
+        return dispatchLog != null;
+    }
+    
+    int logSize() {
+        return logSize;
+    }
+    
+    /**
+     * Copies a range of the dispatch log.
+     * @param from first log index
+     * @param to log index after the last one
+     * @param target receives the positions
+     * @param offset index in target of the first position
+     */
+    void copyLog(int from, int to, int[] target, int offset) {
+        System.arraycopy(dispatchLog, from, target, offset, to - from);
+    }
+    
+    /**
+     * Finds where a drained position starts in the dispatch log. Every task before it was
+     * dispatched before it arrived, so the log holds those first.
+     * @param position a position at whose arrival the kernel was drained
+     * @return the first log index holding a position of at least {@code position}
+     */
+    int firstLogIndexFrom(int position) {
+        int low = 0;
+        int high = logSize;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (dispatchLog[middle] < position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Holds back the last execution on every processor, so that a following execution of the same
+ * task without a gap extends it instead of becoming a ScheduledTask of its own. Used by the
+ * strategies that run tasks in slices. The held-back executions live in primitive arrays and
+ * are extended in place, so recording a slice does not allocate.
+ */
+final class SliceMerger {
+    private final AbstractSchedulingSession session;
+    private final SchedulerListener listener;
+    private final Task[] lastTask;
+    private final long[] lastStart;
+    private final long[] lastEnd;
+    
+    /**
+     * Creates a merger for a session.
+     * @param session the session that emits the executions
+     * @param nrProcessors number of processors of the session
+     * @param listener receives a callback for every merge
+     */
+    SliceMerger(AbstractSchedulingSession session, int nrProcessors, SchedulerListener listener) {
+        this.session = session;
+        this.listener = listener;
+        this.lastTask = new Task[nrProcessors];
+        this.lastStart = new long[nrProcessors];
+        this.lastEnd = new long[nrProcessors];
+    }
+    
+    /**
+     * Extends the previous execution on the processor if the slice that just ended continues
+     * it; otherwise the previous execution is final and emitted.
+     * @param processor the processor the task ran on
+     * @param task the task that ran
+     * @param startTime start of the slice
+     * @param endTime end of the slice
+     */
+    void add(int processor, Task task, long startTime, long endTime) {
+        if (lastTask[processor] != null) {
+            if (lastTask[processor].equals(task) && lastEnd[processor] == startTime) {
+                // Equal tasks share the id; the merged entry reports the latest one
+                listener.executionMerged(processor, task.getId());
+                lastTask[processor] = task;
+                lastEnd[processor] = endTime;
+                return;
+            }
+            emit(processor);
+        }
+        lastTask[processor] = task;
+        lastStart[processor] = startTime;
+        lastEnd[processor] = endTime;
+    }
+    
+    /**
+     * Emits the held-back execution on a processor unless the slice running there may still
+     * extend it.
+     * @param processor the processor
+     * @param runningTask the task running on the processor, null if it is idle
+     * @param sliceStart start of the running slice
+     */
+    void emitUnlessContinued(int processor, Task runningTask, long sliceStart) {
+        if (lastTask[processor] != null
+            && (runningTask == null || !runningTask.equals(lastTask[processor])
+                || sliceStart != lastEnd[processor])) {
+            emit(processor);
+        }
+    }
+    
+    private void emit(int processor) {
+        session.emit(new ScheduledTask(lastTask[processor], processor,
+                                       lastStart[processor], lastEnd[processor]));
+        lastTask[processor] = null;
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of validated tasks in arrival order (stable: tasks arriving at the same time
+ * keep their input order). Strategies recognise it and schedule it as-is instead of copying
+ * and sorting their input, and {@link SchedulerService} accepts it without validating again.
+ *
+ * {@link #of(List)} validates the tasks while copying them, so the input is traversed once;
+ * sorting is skipped when the input is already in arrival order. Build the list once to
+ * schedule the same tasks several times.
+ */
+public final class SortedTaskList extends AbstractList<Task> implements RandomAccess {
+    private final Task[] tasks;
+    
+    private SortedTaskList(Task[] tasks) {
+        this.tasks = tasks;
+    }
+    
+    /**
+     * Validates and sorts tasks.
+     * @param tasks the tasks (unsorted); a SortedTaskList is returned unchanged
+     * @return the tasks in arrival order
+     * @throws IllegalArgumentException if tasks is null, or a task is null or has a negative
+     *                                  field
+     */
+    public static SortedTaskList of(List<Task> tasks) {
+        if (tasks instanceof SortedTaskList) {
+            return (SortedTaskList) tasks;
+        }
+        if (tasks == null) {
+            throw new IllegalArgumentException("Tasks list cannot be null");
+        }
+        
+        Task[] sorted = new Task[tasks.size()];
+        int index = 0;
+        for (Task task : tasks) {
+            SchedulerService.validateTask(task, index);
+            sorted[index++] = task;
+        }
+        RadixSort.sort(sorted, Task::getArrivalTime);
+        return new SortedTaskList(sorted);
+    }
+    
+    /**
+     * Returns tasks in arrival order for a strategy, without validating them.
+     * @param tasks the tasks (unsorted)
+     * @return tasks itself if it is a SortedTaskList, otherwise a sorted copy
+     */
+    static List<Task> sortedByArrival(List<Task> tasks) {
+        if (tasks instanceof SortedTaskList) {
+            return tasks;
+        }
+        Task[] sorted = tasks.toArray(new Task[0]);
+        RadixSort.sort(sorted, Task::getArrivalTime);
+        return Arrays.asList(sorted);
+    }
+    
+    @Override
+    public Task get(int index) {
+        return tasks[index];
+    }
+    
+    @Override
+    public int size() {
+        return tasks.length;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * One run of a {@link SchedulingSweep}: a strategy, a label for the comparison table and a
+ * number of processors. Strategies are stateless, so one instance may appear in several
+ * configurations and run concurrently.
+ */
+public final class SweepConfiguration {
+    private final String label;
+    private final Scheduler strategy;
+    private final int nrProcessors;
+    
+    /**
+     * Creates a configuration.
+     * @param label name of the strategy variant, e.g. "RR q=10"
+     * @param strategy the strategy
+     * @param nrProcessors the number of processors; must be ≥ 1
+     * @throws IllegalArgumentException if label or strategy is null or {@code nrProcessors < 1}
+     */
+    public SweepConfiguration(String label, Scheduler strategy, int nrProcessors) {
+        if (label == null) {
+            throw new IllegalArgumentException("Label cannot be null");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+        if (nrProcessors < 1) {
+            throw new IllegalArgumentException("Number of processors must be at least 1, got: "
+                                               + nrProcessors);
+        }
+        this.label = label;
+        this.strategy = strategy;
+        this.nrProcessors = nrProcessors;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public Scheduler getStrategy() {
+        return strategy;
+    }
+    
+    public int getNrProcessors() {
+        return nrProcessors;
+    }
+}
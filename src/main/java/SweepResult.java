@@ -0,0 +1,55 @@
+import java.util.List;
+
+/**
+ * Schedule quality of one configuration of a {@link SchedulingSweep}.
+ * A task completes at the end of its last execution; its turnaround is completion minus
+ * arrival and its waiting time is turnaround minus length.
+ */
+public final class SweepResult {
+    private final SweepConfiguration configuration;
+    private final ScheduleMetrics metrics;
+    
+    private SweepResult(SweepConfiguration configuration, ScheduleMetrics metrics) {
+        this.configuration = configuration;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Evaluates a schedule.
+     * @param configuration the configuration that produced it
+     * @param schedule the ScheduledTasks of one run
+     * @return the result
+     */
+    static SweepResult of(SweepConfiguration configuration, List<ScheduledTask> schedule) {
+        return new SweepResult(configuration,
+                               ScheduleMetrics.of(schedule, configuration.getNrProcessors()));
+    }
+    
+    public SweepConfiguration getConfiguration() {
+        return configuration;
+    }
+    
+    /**
+     * Returns all metrics of the run, including percentiles and utilization.
+     * @return the metrics
+     */
+    public ScheduleMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Returns the end of the last execution.
+     * @return the makespan, 0 for an empty schedule
+     */
+    public long getMakespan() {
+        return metrics.getMakespan();
+    }
+    
+    public double getMeanWaitingTime() {
+        return metrics.getWaitingTimes().getMean();
+    }
+    
+    public double getMeanTurnaroundTime() {
+        return metrics.getTurnaroundTimes().getMean();
+    }
+}
@@ -0,0 +1,71 @@
+import java.util.Arrays;
+
+/**
+ * Time a processor loses when it starts a slice that does not continue its previous one.
+ * Two costs add up:
+ * - the dispatch latency of the processor, paid whenever it starts a task other than by
+ *   continuing the slice that just ended on it (also after being idle)
+ * - the context-switch cost, paid on top when the processor last ran a different task
+ *
+ * The strategies that run tasks in slices delay the start of such a slice by the overhead, so
+ * the processor is occupied but idle in between; an execution never includes overhead. A
+ * switch in progress is not interrupted: a task can only be preempted once its slice has run
+ * for a time unit, so the overhead is never paid for a slice that does no work. A slice that
+ * continues the one that just ended costs nothing, so the quantum boundaries at which round
+ * robin keeps running a task that is alone on its processor are free, and are no switches.
+ */
+public final class SwitchOverhead {
+    /** No overhead: slices start the moment they are dispatched. */
+    public static final SwitchOverhead NONE = new SwitchOverhead(0);
+    
+    private final long contextSwitchCost;
+    private final long[] dispatchLatencies;
+    
+    /**
+     * Creates an overhead that only charges context switches.
+     * @param contextSwitchCost time lost when a processor switches to a different task
+     * @throws IllegalArgumentException if contextSwitchCost is negative
+     */
+    public SwitchOverhead(long contextSwitchCost) {
+        this(contextSwitchCost, new long[0]);
+    }
+    
+    /**
+     * Creates an overhead with a dispatch latency per processor.
+     * @param contextSwitchCost time lost when a processor switches to a different task
+     * @param dispatchLatencies dispatch latency of processor i at index i; processors beyond
+     *                          the array have none
+     * @throws IllegalArgumentException if a cost is negative or dispatchLatencies is null
+     */
+    public SwitchOverhead(long contextSwitchCost, long[] dispatchLatencies) {
+        if (contextSwitchCost < 0) {
+            throw new IllegalArgumentException("Context switch cost cannot be negative, got: "
+                                               + contextSwitchCost);
+        }
+        if (dispatchLatencies == null) {
+            throw new IllegalArgumentException("Dispatch latencies cannot be null");
+        }
+        for (int i = 0; i < dispatchLatencies.length; i++) {
+            if (dispatchLatencies[i] < 0) {
+                throw new IllegalArgumentException("Dispatch latency of processor " + i
+                                                   + " cannot be negative, got: "
+                                                   + dispatchLatencies[i]);
+            }
+        }
+        this.contextSwitchCost = contextSwitchCost;
+        this.dispatchLatencies = Arrays.copyOf(dispatchLatencies, dispatchLatencies.length);
+    }
+    
+    public long getContextSwitchCost() {
+        return contextSwitchCost;
+    }
+    
+    /**
+     * Returns the dispatch latency of a processor.
+     * @param processorId the processor
+     * @return its latency, 0 if none was given
+     */
+    public long getDispatchLatency(int processorId) {
+        return processorId < dispatchLatencies.length ? dispatchLatencies[processorId] : 0;
+    }
+}
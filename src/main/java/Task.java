@@ -1,20 +1,24 @@
-import java.util.Objects;
-
 /**
  * Class that defines a task by its id, priority and arrival time.
  * 
  * Priority: Higher numbers indicate higher priority (e.g., priority 5 > priority 2)
  * Length: Task execution time in milliseconds (must be non-negative)
  * ArrivalTime: When the task becomes available for scheduling (must be non-negative)
+ * Deadline: Optional time by which the task should have completed (not before its arrival);
+ *           {@link #NO_DEADLINE} if it has none
  *
  * @author Ferit Ismailov
  * @date 20.05.2025
  */
 public class Task implements Comparable<Task> {
+    /** Deadline of a task that has none; it sorts after every real deadline. */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
     private final int id;
     private final int priority;
     private final long length; // in milliseconds
-    private final int arrivalTime;
+    private final long arrivalTime;
+    private final long deadline;
 
     /**
      * Basic constructor for the Task class.
@@ -24,11 +28,26 @@ public class Task implements Comparable<Task> {
      * @param length      - length of the task in milliseconds
      * @param arrivalTime - arrival time of the task 
      */
-    public Task(int id, int priority, long length, int arrivalTime) {
+    public Task(int id, int priority, long length, long arrivalTime) {
+        this(id, priority, length, arrivalTime, NO_DEADLINE);
+    }
+
+    /**
+     * Constructor for a task that has to complete by a deadline.
+     * 
+     * @param id          - id of the task 
+     * @param priority    - priority of the task 
+     * @param length      - length of the task in milliseconds
+     * @param arrivalTime - arrival time of the task 
+     * @param deadline    - absolute time by which the task should have completed,
+     *                      or {@link #NO_DEADLINE}
+     */
+    public Task(int id, int priority, long length, long arrivalTime, long deadline) {
         this.id = id;
         this.priority = priority;
         this.length = length;
         this.arrivalTime = arrivalTime;
+        this.deadline = deadline;
     }
 
     @Override
@@ -54,10 +73,18 @@ public class Task implements Comparable<Task> {
         return length;
     }
 
-    public int getArrivalTime() {
+    public long getArrivalTime() {
         return arrivalTime;
     }
 
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public boolean hasDeadline() {
+        return deadline != NO_DEADLINE;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -72,6 +99,6 @@ public class Task implements Comparable<Task> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Integer.hashCode(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar (struct-of-arrays) representation of a batch of tasks.
+ * A task is identified by its index in the batch; its fields live in primitive arrays, so a
+ * batch of n tasks costs five arrays instead of n objects. Use {@link #fromTasks(List)} and
+ * {@link #toTasks()} to convert from and to the object representation.
+ */
+public final class TaskBatch {
+    private int[] ids;
+    private int[] priorities;
+    private long[] lengths;
+    private long[] arrivalTimes;
+    private long[] deadlines;
+    private int size;
+    
+    /**
+     * Creates an empty batch.
+     * @param initialCapacity expected number of tasks (grows when exceeded)
+     */
+    public TaskBatch(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.ids = new int[capacity];
+        this.priorities = new int[capacity];
+        this.lengths = new long[capacity];
+        this.arrivalTimes = new long[capacity];
+        this.deadlines = new long[capacity];
+    }
+    
+    /**
+     * Converts a list of tasks; index i of the batch holds the i-th task of the list.
+     * @param tasks the tasks
+     * @return a new batch
+     * @throws IllegalArgumentException if a task is null, has a negative field or a deadline
+     *                                  before its arrival
+     */
+    public static TaskBatch fromTasks(List<Task> tasks) {
+        TaskBatch batch = new TaskBatch(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task == null) {
+                throw new IllegalArgumentException("Task at index " + i + " is null");
+            }
+            batch.add(task.getId(), task.getPriority(), task.getLength(), task.getArrivalTime(),
+                      task.getDeadline());
+        }
+        return batch;
+    }
+    
+    /**
+     * Appends a task.
+     * @param id id of the task
+     * @param priority priority of the task
+     * @param length length of the task in milliseconds
+     * @param arrivalTime arrival time of the task
+     * @return the index of the task in this batch
+     * @throws IllegalArgumentException if a field is negative
+     */
+    public int add(int id, int priority, long length, long arrivalTime) {
+        return add(id, priority, length, arrivalTime, Task.NO_DEADLINE);
+    }
+    
+    /**
+     * Appends a task with a deadline.
+     * @param id id of the task
+     * @param priority priority of the task
+     * @param length length of the task in milliseconds
+     * @param arrivalTime arrival time of the task
+     * @param deadline time by which the task should have completed, or
+     *                 {@link Task#NO_DEADLINE}
+     * @return the index of the task in this batch
+     * @throws IllegalArgumentException if a field is negative or the deadline lies before the
+     *                                  arrival time
+     */
+    public int add(int id, int priority, long length, long arrivalTime, long deadline) {
+        SchedulerService.validateTaskFields(id, priority, length, arrivalTime, deadline);
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+        }
+        ids[size] = id;
+        priorities[size] = priority;
+        lengths[size] = length;
+        arrivalTimes[size] = arrivalTime;
+        deadlines[size] = deadline;
+        return size++;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int getId(int index) {
+        return ids[index];
+    }
+    
+    public int getPriority(int index) {
+        return priorities[index];
+    }
+    
+    public long getLength(int index) {
+        return lengths[index];
+    }
+    
+    public long getArrivalTime(int index) {
+        return arrivalTimes[index];
+    }
+    
+    public long getDeadline(int index) {
+        return deadlines[index];
+    }
+    
+    /**
+     * Creates the Task object for one entry.
+     * @param index index of the task
+     * @return a new Task with the fields of the entry
+     */
+    public Task toTask(int index) {
+        return new Task(ids[index], priorities[index], lengths[index], arrivalTimes[index],
+                        deadlines[index]);
+    }
+    
+    /**
+     * Converts the batch back to Task objects.
+     * @return a list whose i-th element is the task at index i
+     */
+    public List<Task> toTasks() {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(toTask(i));
+        }
+        return tasks;
+    }
+    
+    /**
+     * Computes the order in which the tasks arrive. The sort is stable: tasks arriving at the
+     * same time keep their order in the batch, exactly like sorting a list of tasks.
+     * @return the task indices sorted by arrival time
+     */
+    public int[] arrivalOrder() {
+        int[] order = RadixSort.identity(size);
+        RadixSort.sort(order, arrivalTimes);
+        return order;
+    }
+}
@@ -0,0 +1,94 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Tasks in a compact binary trace file, read through a memory mapping.
+ * Every task is a 24-byte record (arrival time, length, id, priority; little-endian), so the
+ * fields of task i are read in place without parsing and without creating Task objects.
+ * Use {@link #toBatch()} to load the trace into a {@link TaskBatch} for a strategy, or
+ * {@link SchedulerService#runScheduler(Scheduler, Path, int, Path)} to schedule a trace file
+ * into a schedule trace file. The format has no deadline field: traced tasks have
+ * {@link Task#NO_DEADLINE}.
+ */
+public final class TaskTrace {
+    /** Size of a task record in bytes. */
+    public static final int RECORD_SIZE = 24;
+    /** "TSK1" in little-endian byte order. */
+    private static final int MAGIC = 0x314B5354;
+    
+    private static final int ARRIVAL_TIME = 0;
+    private static final int LENGTH = 8;
+    private static final int ID = 16;
+    private static final int PRIORITY = 20;
+    
+    private final TraceFile file;
+    
+    private TaskTrace(TraceFile file) {
+        this.file = file;
+    }
+    
+    /**
+     * Maps a task trace.
+     * @param path the trace file
+     * @return the trace
+     * @throws IOException if the file cannot be read or is not a complete task trace
+     */
+    public static TaskTrace open(Path path) throws IOException {
+        return new TaskTrace(TraceFile.open(path, MAGIC, RECORD_SIZE, "task"));
+    }
+    
+    /**
+     * Writes a batch as a task trace; record i holds the task at index i.
+     * @param path the trace file, replaced if it exists
+     * @param tasks the tasks
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, TaskBatch tasks) throws IOException {
+        TraceFile file = TraceFile.create(path, MAGIC, RECORD_SIZE, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            ByteBuffer chunk = file.chunk(i);
+            int offset = file.offset(i);
+            chunk.putLong(offset + ARRIVAL_TIME, tasks.getArrivalTime(i));
+            chunk.putLong(offset + LENGTH, tasks.getLength(i));
+            chunk.putInt(offset + ID, tasks.getId(i));
+            chunk.putInt(offset + PRIORITY, tasks.getPriority(i));
+        }
+    }
+    
+    public int size() {
+        return file.recordCount();
+    }
+    
+    public int getId(int index) {
+        return file.chunk(index).getInt(file.offset(index) + ID);
+    }
+    
+    public int getPriority(int index) {
+        return file.chunk(index).getInt(file.offset(index) + PRIORITY);
+    }
+    
+    public long getLength(int index) {
+        return file.chunk(index).getLong(file.offset(index) + LENGTH);
+    }
+    
+    public long getArrivalTime(int index) {
+        return file.chunk(index).getLong(file.offset(index) + ARRIVAL_TIME);
+    }
+    
+    /**
+     * Copies the trace into a columnar batch; index i of the batch holds record i.
+     * @return a new batch
+     * @throws IllegalArgumentException if a record has a negative field
+     */
+    public TaskBatch toBatch() {
+        TaskBatch batch = new TaskBatch(size());
+        for (int i = 0; i < size(); i++) {
+            ByteBuffer chunk = file.chunk(i);
+            int offset = file.offset(i);
+            batch.add(chunk.getInt(offset + ID), chunk.getInt(offset + PRIORITY),
+                      chunk.getLong(offset + LENGTH), chunk.getLong(offset + ARRIVAL_TIME));
+        }
+        return batch;
+    }
+}
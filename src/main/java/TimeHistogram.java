@@ -0,0 +1,96 @@
+/**
+ * Histogram of non-negative durations in constant memory, for percentiles over millions of
+ * tasks. Values below 128 are counted exactly; larger values fall into log-linear buckets of
+ * 64 per power of two, so a reported percentile is at most about 1.6% above the true one.
+ */
+public final class TimeHistogram {
+    /** Values below {@code 2^PRECISION_BITS} have a bucket of their own. */
+    private static final int PRECISION_BITS = 7;
+    private static final int HALF_BUCKET_COUNT = 1 << (PRECISION_BITS - 1);
+    private static final int BUCKET_COUNT = (64 - PRECISION_BITS + 1) * HALF_BUCKET_COUNT
+                                            + HALF_BUCKET_COUNT;
+    
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private double sum;
+    private long max;
+    
+    /**
+     * Records a value.
+     * @param value a non-negative duration
+     * @throws IllegalArgumentException if value is negative
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Cannot record negative value: " + value);
+        }
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * Returns the exact mean of the recorded values.
+     * @return the mean, 0 if nothing was recorded
+     */
+    public double getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+    
+    /**
+     * Returns the exact maximum of the recorded values.
+     * @return the maximum, 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max;
+    }
+    
+    /**
+     * Returns a percentile: the smallest bucket value that at least {@code percentile}% of
+     * the recorded values do not exceed.
+     * @param percentile the percentile, between 0 and 100 (e.g. 99.9)
+     * @return the percentile, never above the maximum; 0 if nothing was recorded
+     * @throws IllegalArgumentException if percentile lies outside [0, 100]
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must lie in [0, 100], got: "
+                                               + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(max, highestValueIn(bucket));
+            }
+        }
+        return max;
+    }
+    
+    /**
+     * Maps a value to its bucket: the shift drops all but the top PRECISION_BITS bits.
+     * @param value a non-negative value
+     * @return the bucket index
+     */
+    private static int bucketOf(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - PRECISION_BITS);
+        return shift * HALF_BUCKET_COUNT + (int) (value >>> shift);
+    }
+    
+    private static long highestValueIn(int bucket) {
+        int shift = Math.max(0, bucket / HALF_BUCKET_COUNT - 1);
+        long subBucket = bucket - (long) shift * HALF_BUCKET_COUNT;
+        long end = (subBucket + 1) << shift;
+        // The very last bucket ends at 2^63, which wraps around
+        return end > 0 ? end - 1 : Long.MAX_VALUE;
+    }
+}
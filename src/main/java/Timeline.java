@@ -0,0 +1,28 @@
+/**
+ * Arithmetic on the 64-bit scheduling timeline.
+ * Times are non-negative longs; {@link Long#MAX_VALUE} is reserved as "end of time" (it is the
+ * limit under which a finished session runs), so every computed time must stay below it.
+ */
+final class Timeline {
+    /** Exclusive upper bound of all times on the timeline. */
+    static final long END_OF_TIME = Long.MAX_VALUE;
+
+    private Timeline() {
+    }
+
+    /**
+     * Computes the time at which a span of the given length starting at {@code time} ends.
+     * @param time start of the span, a time on the timeline
+     * @param length non-negative length of the span
+     * @return {@code time + length}
+     * @throws ArithmeticException if the end lies beyond the timeline
+     */
+    static long add(long time, long length) {
+        long end = time + length;
+        if (end < time || end == END_OF_TIME) {
+            throw new ArithmeticException("Schedule overflows the timeline: " + time + " + "
+                                          + length);
+        }
+        return end;
+    }
+}
@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A binary trace file: a 16-byte header (magic number, record size, record count) followed by
+ * fixed-width little-endian records. The records are memory-mapped, so reading a field is a
+ * load from the page cache and nothing is parsed or copied. One mapping cannot exceed 2 GB,
+ * so the records are mapped in chunks that each hold a whole number of records.
+ */
+final class TraceFile {
+    static final int HEADER_SIZE = 16;
+    
+    private final ByteBuffer[] chunks;
+    private final int recordsPerChunk;
+    private final int recordSize;
+    private final int recordCount;
+    
+    private TraceFile(FileChannel channel, FileChannel.MapMode mode, int recordSize,
+                      int recordCount) throws IOException {
+        this.recordSize = recordSize;
+        this.recordCount = recordCount;
+        this.recordsPerChunk = Integer.MAX_VALUE / recordSize;
+        int chunkCount = Math.max(1, (recordCount + recordsPerChunk - 1) / recordsPerChunk);
+        this.chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            int records = Math.min(recordsPerChunk, recordCount - i * recordsPerChunk);
+            long position = HEADER_SIZE + (long) i * recordsPerChunk * recordSize;
+            chunks[i] = channel.map(mode, position, (long) records * recordSize)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+    
+    /**
+     * Maps an existing trace for reading.
+     * @param path the file
+     * @param magic the magic number the file must start with
+     * @param recordSize the size of a record in bytes
+     * @param kind name of the record type, for error messages
+     * @return the mapped trace
+     * @throws IOException if the file cannot be read, is of another kind, or is truncated
+     */
+    static TraceFile open(Path path, int magic, int recordSize, String kind) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(channel);
+            if (header.hasRemaining() || header.getInt(0) != magic
+                || header.getInt(4) != recordSize) {
+                throw new IOException(path + " is not a " + kind + " trace");
+            }
+            return new TraceFile(channel, FileChannel.MapMode.READ_ONLY, recordSize,
+                                 checkRecordCount(channel, path, header.getLong(8), recordSize));
+        }
+    }
+    
+    /**
+     * Reads the header of a trace.
+     * @param channel the file, positioned at its start
+     * @return the header; it has bytes remaining if the file is shorter than a header
+     * @throws IOException if the file cannot be read
+     */
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header) >= 0) {
+            // Read until the header is complete or the file ends
+        }
+        return header;
+    }
+    
+    /**
+     * Checks the record count of a header against the size of the file.
+     * @param channel the file
+     * @param path the file, for error messages
+     * @param recordCount the record count in the header
+     * @param recordSize the size of a record in bytes
+     * @return the record count
+     * @throws IOException if the file cannot be read, or does not hold exactly that many records
+     */
+    private static int checkRecordCount(FileChannel channel, Path path, long recordCount,
+                                        int recordSize) throws IOException {
+        if (recordCount < 0 || recordCount > Integer.MAX_VALUE
+            || channel.size() != HEADER_SIZE + recordCount * recordSize) {
+            throw new IOException(path + " is truncated or has a corrupt header");
+        }
+        return (int) recordCount;
+    }
+    
+    /**
+     * Creates (or replaces) a trace and maps it for writing. The records start zeroed.
+     * @param path the file
+     * @param magic the magic number to write
+     * @param recordSize the size of a record in bytes
+     * @param recordCount the number of records
+     * @return the mapped trace
+     * @throws IOException if the file cannot be written
+     */
+    static TraceFile create(Path path, int magic, int recordSize, int recordCount)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(magic).putInt(recordSize).putLong(recordCount).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            return new TraceFile(channel, FileChannel.MapMode.READ_WRITE, recordSize,
+                                 recordCount);
+        }
+    }
+    
+    int recordCount() {
+        return recordCount;
+    }
+    
+    /**
+     * Returns the mapped chunk holding a record.
+     * @pre {@code 0 <= record < recordCount()}
+     * @param record index of the record
+     * @return the chunk; the record starts at {@link #offset(int)}
+     */
+    ByteBuffer chunk(int record) {
+        return chunks[record / recordsPerChunk];
+    }
+    
+    /**
+     * Returns the position of a record within its chunk.
+     * @param record index of the record
+     * @return the byte offset
+     */
+    int offset(int record) {
+        return record % recordsPerChunk * recordSize;
+    }
+}
@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the earliest deadline first strategy.
+ */
+public class EDFStrategyTest {
+
+    @Test
+    void testEDF_EarlierDeadlinePreemptsAndMissesAreReported() {
+        List<Task> tasks = List.of(
+            new Task(1, 5, 10, 0, 30),
+            new Task(2, 1, 4, 2, 8),
+            new Task(3, 9, 6, 3),
+            new Task(4, 1, 5, 4, 12)
+        );
+        SchedulerStatistics statistics = new SchedulerStatistics();
+        List<ScheduledTask> result = SchedulerService.runScheduler(
+            new EDFStrategy(statistics), tasks, 1);
+        
+        // Task 2 preempts task 1 at 2; task 4 runs before task 1 but completes at 11 < 12;
+        // task 3 has no deadline and runs last
+        int[] ids = {1, 2, 4, 1, 3};
+        long[] startTimes = {0, 2, 6, 11, 19};
+        long[] endTimes = {2, 6, 11, 19, 25};
+        ScheduleAssertions.assertSchedule(result, ids, startTimes, endTimes);
+        assertEquals(0, statistics.getMissedDeadlines());
+        
+        // With the deadline of task 4 at 10 it is one late
+        List<Task> late = List.of(tasks.get(0), tasks.get(1), tasks.get(2),
+                                  new Task(4, 1, 5, 4, 10));
+        SchedulerStatistics lateStatistics = new SchedulerStatistics();
+        ScheduleMetrics metrics = SchedulerService.computeMetrics(
+            SchedulerService.runScheduler(new EDFStrategy(lateStatistics), late, 1), 1);
+        assertEquals(1, lateStatistics.getMissedDeadlines());
+        assertEquals(1, metrics.getMissedDeadlineCount());
+        assertEquals(1, metrics.getTardiness().getMax());
+        
+        assertThrows(IllegalArgumentException.class, () -> SchedulerService.runScheduler(
+            new EDFStrategy(), List.of(new Task(5, 1, 1, 10, 9)), 1));
+    }
+
+    @Test
+    void testEDF_SwitchOverheadIsNotPaidForSliceWithoutWork() {
+        // Task 3 arrives during the switch to task 2 and has to wait until that slice has
+        // run for 1 ms, so each of the four switches is followed by work
+        List<Task> tasks = List.of(
+            new Task(1, 1, 5, 0, 100),
+            new Task(2, 1, 2, 1, 20),
+            new Task(3, 1, 1, 2, 10)
+        );
+        SchedulerStatistics statistics = new SchedulerStatistics();
+        List<ScheduledTask> result = SchedulerService.runScheduler(
+            new EDFStrategy(new SwitchOverhead(2), statistics), tasks, 1);
+        int[] ids = {1, 2, 3, 2, 1};
+        long[] startTimes = {0, 3, 6, 9, 12};
+        long[] endTimes = {1, 4, 7, 10, 16};
+        ScheduleAssertions.assertSchedule(result, ids, startTimes, endTimes);
+        assertEquals(5, statistics.getDispatches());
+        assertEquals(2, statistics.getPreemptions());
+        assertEquals(4, statistics.getContextSwitches());
+        assertEquals(8, statistics.getSwitchOverhead());
+    }
+}
@@ -0,0 +1,55 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the first come, first served strategy.
+ */
+public class FCFSStrategyTest {
+
+    @Test
+    void testFCFS_EarliestFreeProcessorWins() {
+        // The processor that became free first gets the task; ties go to the lowest id
+        List<Task> tasks = List.of(
+            new Task(1, 1, 10, 0),
+            new Task(2, 1, 10, 0),
+            new Task(3, 1, 5, 0),
+            new Task(4, 1, 1, 20),
+            new Task(5, 1, 1, 20)
+        );
+        Scheduler scheduler = new FCFSStrategy();
+        List<ScheduledTask> result = SchedulerService.runScheduler(scheduler, tasks, 3);
+        
+        assertEquals(5, result.size());
+        
+        assertEquals(0, result.get(0).getProcessorId());
+        assertEquals(1, result.get(1).getProcessorId());
+        assertEquals(2, result.get(2).getProcessorId());
+        
+        assertEquals(4, result.get(3).getTask().getId());
+        assertEquals(2, result.get(3).getProcessorId());
+        assertEquals(20, result.get(3).getStartTime());
+        
+        assertEquals(5, result.get(4).getTask().getId());
+        assertEquals(0, result.get(4).getProcessorId());
+        assertEquals(20, result.get(4).getStartTime());
+    }
+
+    @Test
+    void testFCFS_TimesBeyondIntRange() {
+        long late = 3_000_000_000L;
+        List<Task> tasks = List.of(
+            new Task(1, 1, 4_000_000_000L, 0),
+            new Task(2, 1, 100, late)
+        );
+        Scheduler scheduler = new FCFSStrategy();
+        List<ScheduledTask> result = SchedulerService.runScheduler(scheduler, tasks, 1);
+        
+        assertEquals(2, result.size());
+        assertEquals(4_000_000_000L, result.get(0).getEndTime());
+        assertEquals(4_000_000_000L, result.get(1).getStartTime());
+        assertEquals(4_000_000_100L, result.get(1).getEndTime());
+    }
+}
@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the multilevel feedback queue strategy.
+ */
+public class MLFQStrategyTest {
+
+    @Test
+    void testMLFQ_DemotesLongTaskBelowShortArrival() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 10, 0),
+            new Task(2, 1, 1, 3)
+        );
+        SchedulerStatistics statistics = new SchedulerStatistics();
+        List<ScheduledTask> result = SchedulerService.runScheduler(
+            new MLFQStrategy(new long[] {2, 4}, Timeline.END_OF_TIME, statistics), tasks, 1);
+        
+        // Task 1 drops to level 1 at time 2 and is preempted by the arrival of task 2 at 3
+        assertEquals(3, result.size());
+        assertEquals(1, result.get(0).getTask().getId());
+        assertEquals(0, result.get(0).getStartTime());
+        assertEquals(3, result.get(0).getEndTime());
+        
+        assertEquals(2, result.get(1).getTask().getId());
+        assertEquals(3, result.get(1).getStartTime());
+        assertEquals(4, result.get(1).getEndTime());
+        
+        assertEquals(1, result.get(2).getTask().getId());
+        assertEquals(4, result.get(2).getStartTime());
+        assertEquals(11, result.get(2).getEndTime());
+        
+        // The slices 0-2 and 2-3, and 4-8 and 8-11, run back to back and are merged
+        assertEquals(2, statistics.getMerges());
+    }
+
+    @Test
+    void testMLFQ_BoostMovesTasksBackToTopLevel() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 6, 0),
+            new Task(2, 1, 6, 0)
+        );
+        List<ScheduledTask> result = SchedulerService.runScheduler(
+            new MLFQStrategy(new long[] {1, 100}, 4), tasks, 1);
+        
+        // The boost at 4 gives task 2 a fresh level-0 slice before task 1 finishes
+        int[] ids = {1, 2, 1, 2, 1, 2};
+        long[] startTimes = {0, 1, 2, 5, 6, 8};
+        long[] endTimes = {1, 2, 5, 6, 8, 12};
+        ScheduleAssertions.assertSchedule(result, ids, startTimes, endTimes);
+        assertThrows(IllegalArgumentException.class,
+            () -> new MLFQStrategy(new long[] {1, 0}, 4));
+    }
+}
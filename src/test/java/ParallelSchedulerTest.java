@@ -0,0 +1,45 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the parallel scheduler.
+ */
+public class ParallelSchedulerTest {
+
+    @Test
+    void testParallelScheduler_MatchesSequentialRun() {
+        // Three busy periods of two tasks; after the first one processor 1 is free first
+        List<Task> tasks = List.of(
+            new Task(1, 1, 10, 0),
+            new Task(2, 1, 3, 1),
+            new Task(3, 1, 5, 20),
+            new Task(4, 1, 5, 20),
+            new Task(5, 1, 2, 30),
+            new Task(6, 1, 1, 30)
+        );
+        ParallelScheduler parallel = new ParallelScheduler(ForkJoinPool.commonPool(), 2);
+        
+        List<ScheduledTask> fcfs = parallel.schedule(new FCFSStrategy(), tasks, 2);
+        int[] ids = {1, 2, 3, 4, 5, 6};
+        int[] processorIds = {0, 1, 1, 0, 0, 1};
+        long[] startTimes = {0, 1, 20, 20, 30, 30};
+        long[] endTimes = {10, 4, 25, 25, 32, 31};
+        ScheduleAssertions.assertSchedule(fcfs, ids, processorIds, startTimes, endTimes);
+        
+        List<ScheduledTask> expected = SchedulerService.runScheduler(new SJFStrategy(), tasks, 2);
+        List<ScheduledTask> sjf = parallel.schedule(new SJFStrategy(), tasks, 2);
+        assertEquals(expected.size(), sjf.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getTask(), sjf.get(i).getTask());
+            assertEquals(expected.get(i).getProcessorId(), sjf.get(i).getProcessorId());
+            assertEquals(expected.get(i).getStartTime(), sjf.get(i).getStartTime());
+        }
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ParallelScheduler(ForkJoinPool.commonPool(), 0));
+    }
+}
@@ -0,0 +1,167 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the priority strategy, its incremental session and its aging.
+ */
+public class PriorityStrategyTest {
+
+    @Test
+    void testPriority_ArrivalsWithoutHigherPriorityDoNotSplit() {
+        // Arrivals of equal or lower priority must not split the running task's execution
+        List<Task> tasks = List.of(
+            new Task(1, 2, 100, 0),
+            new Task(2, 2, 50, 10),
+            new Task(3, 1, 10, 20)
+        );
+        Scheduler scheduler = new PriorityStrategy();
+        List<ScheduledTask> result = SchedulerService.runScheduler(scheduler, tasks, 1);
+        
+        assertEquals(3, result.size());
+        
+        assertEquals(1, result.get(0).getTask().getId());
+        assertEquals(0, result.get(0).getStartTime());
+        assertEquals(100, result.get(0).getEndTime());
+        
+        assertEquals(2, result.get(1).getTask().getId());
+        assertEquals(100, result.get(1).getStartTime());
+        assertEquals(150, result.get(1).getEndTime());
+        
+        assertEquals(3, result.get(2).getTask().getId());
+        assertEquals(150, result.get(2).getStartTime());
+        assertEquals(160, result.get(2).getEndTime());
+    }
+
+    @Test
+    void testPriority_MultipleProcessorsPreemptWeakest() {
+        // With two processors an arrival preempts the lowest priority running task only
+        List<Task> tasks = List.of(
+            new Task(1, 1, 100, 0),
+            new Task(2, 2, 100, 0),
+            new Task(3, 3, 50, 10)
+        );
+        Scheduler scheduler = new PriorityStrategy();
+        List<ScheduledTask> result = SchedulerService.runScheduler(scheduler, tasks, 2);
+        
+        assertEquals(4, result.size());
+        
+        assertEquals(2, result.get(0).getTask().getId());
+        assertEquals(0, result.get(0).getProcessorId());
+        assertEquals(100, result.get(0).getEndTime());
+        
+        assertEquals(1, result.get(1).getTask().getId());
+        assertEquals(1, result.get(1).getProcessorId());
+        assertEquals(10, result.get(1).getEndTime());
+        
+        assertEquals(3, result.get(2).getTask().getId());
+        assertEquals(1, result.get(2).getProcessorId());
+        assertEquals(10, result.get(2).getStartTime());
+        assertEquals(60, result.get(2).getEndTime());
+        
+        // The preempted task resumes on the processor it last ran on
+        assertEquals(1, result.get(3).getTask().getId());
+        assertEquals(1, result.get(3).getProcessorId());
+        assertEquals(60, result.get(3).getStartTime());
+        assertEquals(150, result.get(3).getEndTime());
+    }
+
+    @Test
+    void testPrioritySession_EmitsExecutionsOnceFinal() {
+        List<Processor> processors = new ArrayList<>();
+        processors.add(new Processor(0));
+        SchedulingSession session = new PriorityStrategy().openSession(processors);
+        
+        session.submit(new Task(1, 1, 100, 0));
+        session.advanceTo(50);
+        // Task 1 is still running, so its execution may still grow
+        assertNull(session.poll());
+        
+        session.submit(new Task(2, 3, 30, 50));
+        session.advanceTo(60);
+        ScheduledTask first = session.poll();
+        assertEquals(1, first.getTask().getId());
+        assertEquals(0, first.getStartTime());
+        assertEquals(50, first.getEndTime());
+        assertNull(session.poll());
+        
+        // Arrivals may not lie in the past
+        assertThrows(IllegalArgumentException.class,
+            () -> session.submit(new Task(3, 1, 10, 55)));
+        
+        session.finish();
+        ScheduledTask second = session.poll();
+        assertEquals(2, second.getTask().getId());
+        assertEquals(50, second.getStartTime());
+        assertEquals(80, second.getEndTime());
+        ScheduledTask third = session.poll();
+        assertEquals(1, third.getTask().getId());
+        assertEquals(80, third.getStartTime());
+        assertEquals(130, third.getEndTime());
+        assertNull(session.poll());
+    }
+
+    @Test
+    void testPriority_TimelineOverflowIsDetected() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, Long.MAX_VALUE - 10, 0),
+            new Task(2, 1, 20, 5)
+        );
+        Scheduler scheduler = new PriorityStrategy();
+        assertThrows(ArithmeticException.class,
+            () -> SchedulerService.runScheduler(scheduler, tasks, 1));
+    }
+
+    @Test
+    void testPriorityAging_LowPriorityTaskRunsDespiteStream() {
+        // A low-priority task against a stream of high-priority tasks arriving every 3 ms
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(0, 0, 4, 0));
+        for (int i = 1; i <= 8; i++) {
+            tasks.add(new Task(i, 3, 3, 3L * (i - 1)));
+        }
+        
+        List<ScheduledTask> starved = SchedulerService.runScheduler(
+            new PriorityStrategy(), tasks, 1);
+        assertEquals(0, starved.get(8).getTask().getId());
+        assertEquals(24, starved.get(8).getStartTime());
+        
+        // With one level per 2 ms of waiting, task 0 reaches level 3 at 6 and goes before
+        // task 3 by arrival; task 3 then ages a level past it at 8 and runs to completion
+        List<ScheduledTask> aged = SchedulerService.runScheduler(
+            new PriorityStrategy(2), tasks, 1);
+        int[] ids = {1, 2, 0, 3, 0, 4};
+        long[] startTimes = {0, 3, 6, 8, 11, 13};
+        long[] endTimes = {3, 6, 8, 11, 13, 16};
+        ScheduleAssertions.assertSchedule(aged.subList(0, ids.length), ids, startTimes, endTimes);
+        assertThrows(IllegalArgumentException.class, () -> new PriorityStrategy(0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PriorityStrategy(PriorityStrategy.MAX_AGING_INTERVAL + 1));
+    }
+
+    @Test
+    void testPriorityAging_DispatchedTaskIsNotPreemptedByTaskQueuedBehindIt() {
+        // Task 2 ages past task 1 at 5; at 7 the zero-length task 0 is dispatched ahead of
+        // task 1 on the same level and completes without being preempted
+        List<Task> tasks = List.of(
+            new Task(0, 0, 0, 4),
+            new Task(1, 0, 5, 1),
+            new Task(2, 0, 2, 3)
+        );
+        SchedulerStatistics statistics = new SchedulerStatistics();
+        List<ScheduledTask> result = SchedulerService.runScheduler(
+            new PriorityStrategy(2, statistics), tasks, 1);
+        int[] ids = {1, 2, 0, 1};
+        long[] startTimes = {1, 5, 7, 7};
+        long[] endTimes = {5, 7, 7, 8};
+        ScheduleAssertions.assertSchedule(result, ids, startTimes, endTimes);
+        assertEquals(4, statistics.getDispatches());
+        assertEquals(1, statistics.getPreemptions());
+        assertEquals(3, statistics.getCompletions());
+    }
+}
@@ -0,0 +1,41 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the processor timeline.
+ */
+public class ProcessorTest {
+
+    @Test
+    void testProcessorTimeline_LooksUpTaskAtTime() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 10, 0),
+            new Task(2, 5, 5, 2)
+        );
+        List<Processor> processors = new ArrayList<>();
+        processors.add(new Processor(0));
+        new PriorityStrategy().schedule(tasks, processors);
+        
+        // Task 1 runs 0-2 and 7-15 around task 2
+        Processor processor = processors.get(0);
+        assertEquals(3, processor.getSchedule().size());
+        assertEquals(1, processor.getTaskAt(0).getTask().getId());
+        assertEquals(2, processor.getTaskAt(2).getTask().getId());
+        assertEquals(2, processor.getTaskAt(6).getTask().getId());
+        assertEquals(1, processor.getTaskAt(7).getTask().getId());
+        assertNull(processor.getTaskAt(15));
+        
+        // Scheduling again on the same processor replaces its timeline
+        new FCFSStrategy().schedule(tasks, processors);
+        assertEquals(2, processor.getSchedule().size());
+        assertEquals(1, processor.getTaskAt(9).getTask().getId());
+        assertThrows(IllegalArgumentException.class,
+            () -> processor.assign(new ScheduledTask(tasks.get(0), 0, 3, 4)));
+    }
+}
@@ -0,0 +1,122 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the round robin strategy.
+ */
+public class RoundRobinStrategyTest {
+
+    @Test
+    void testRoundRobin_MultipleProcessors() {
+        // Arrivals are spread over the least loaded queues, each processor rotates its own
+        List<Task> tasks = List.of(
+            new Task(1, 1, 100, 0),
+            new Task(2, 1, 100, 0),
+            new Task(3, 1, 50, 0)
+        );
+        Scheduler scheduler = new RoundRobinStrategy(50);
+        List<ScheduledTask> result = SchedulerService.runScheduler(scheduler, tasks, 2);
+        
+        assertEquals(4, result.size());
+        
+        assertEquals(1, result.get(0).getTask().getId());
+        assertEquals(0, result.get(0).getProcessorId());
+        
+        // Task 2 is alone on processor 1, so its two quanta merge
+        assertEquals(2, result.get(1).getTask().getId());
+        assertEquals(1, result.get(1).getProcessorId());
+        assertEquals(0, result.get(1).getStartTime());
+        assertEquals(100, result.get(1).getEndTime());
+        
+        assertEquals(3, result.get(2).getTask().getId());
+        assertEquals(0, result.get(2).getProcessorId());
+        assertEquals(50, result.get(2).getStartTime());
+        
+        assertEquals(1, result.get(3).getTask().getId());
+        assertEquals(0, result.get(3).getProcessorId());
+        assertEquals(100, result.get(3).getStartTime());
+        assertEquals(150, result.get(3).getEndTime());
+    }
+
+    @Test
+    void testRoundRobin_TinyQuantumMergesUninterruptedRuns() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 1000, 0),
+            new Task(2, 1, 1000, 0),
+            new Task(3, 1, 10, 500)
+        );
+        Scheduler scheduler = new RoundRobinStrategy(1);
+        List<ScheduledTask> result = SchedulerService.runScheduler(scheduler, tasks, 2);
+        
+        // Task 3 joins processor 0 at 500 and alternates with task 1 until it completes at 520
+        assertEquals(22, result.size());
+        assertEquals(1, result.get(0).getTask().getId());
+        assertEquals(0, result.get(0).getProcessorId());
+        assertEquals(0, result.get(0).getStartTime());
+        assertEquals(501, result.get(0).getEndTime());
+        
+        // Task 2 runs alone on processor 1, so its 1000 quanta form one entry
+        assertEquals(2, result.get(1).getTask().getId());
+        assertEquals(1, result.get(1).getProcessorId());
+        assertEquals(0, result.get(1).getStartTime());
+        assertEquals(1000, result.get(1).getEndTime());
+        
+        ScheduledTask last = result.get(result.size() - 1);
+        assertEquals(1, last.getTask().getId());
+        assertEquals(520, last.getStartTime());
+        assertEquals(1010, last.getEndTime());
+    }
+
+    @Test
+    void testRoundRobin_LoneTaskAdmitsArrivalAtNextBoundary() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 100, 0),
+            new Task(2, 1, 2, 10)
+        );
+        Scheduler scheduler = new RoundRobinStrategy(3);
+        List<ScheduledTask> result = SchedulerService.runScheduler(scheduler, tasks, 1);
+        
+        // Task 2 is admitted at 12, the first quantum boundary after its arrival, and queues
+        // behind task 1, which was requeued at that boundary
+        assertEquals(3, result.size());
+        assertEquals(1, result.get(0).getTask().getId());
+        assertEquals(0, result.get(0).getStartTime());
+        assertEquals(15, result.get(0).getEndTime());
+        
+        assertEquals(2, result.get(1).getTask().getId());
+        assertEquals(15, result.get(1).getStartTime());
+        assertEquals(17, result.get(1).getEndTime());
+        
+        assertEquals(1, result.get(2).getTask().getId());
+        assertEquals(17, result.get(2).getStartTime());
+        assertEquals(102, result.get(2).getEndTime());
+    }
+
+    @Test
+    void testRoundRobin_RejectsNullListener() {
+        assertThrows(IllegalArgumentException.class, () -> new RoundRobinStrategy(5, null));
+    }
+
+    @Test
+    void testRoundRobin_ContextSwitchCost() {
+        // Every switch to the other task costs 1 ms before its quantum begins
+        List<Task> tasks = List.of(
+            new Task(1, 1, 3, 0),
+            new Task(2, 1, 2, 0)
+        );
+        SchedulerStatistics statistics = new SchedulerStatistics();
+        List<ScheduledTask> result = SchedulerService.runScheduler(
+            new RoundRobinStrategy(2, new SwitchOverhead(1), statistics), tasks, 1);
+        int[] ids = {1, 2, 1};
+        long[] startTimes = {0, 3, 6};
+        long[] endTimes = {2, 5, 7};
+        ScheduleAssertions.assertSchedule(result, ids, startTimes, endTimes);
+        assertEquals(2, statistics.getContextSwitches());
+        assertEquals(2, statistics.getSwitchOverhead());
+        assertThrows(IllegalArgumentException.class, () -> new SwitchOverhead(-1));
+    }
+}
@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the shortest job first strategy.
+ */
+public class SJFStrategyTest {
+
+    @Test
+    void testSJF_IdleProcessorsWaitForNextArrival() {
+        // Processors that free up before the next arrival all wait for it; lowest id wins
+        List<Task> tasks = List.of(
+            new Task(1, 1, 10, 0),
+            new Task(2, 1, 5, 0),
+            new Task(3, 1, 3, 20)
+        );
+        Scheduler scheduler = new SJFStrategy();
+        List<ScheduledTask> result = SchedulerService.runScheduler(scheduler, tasks, 2);
+        
+        assertEquals(3, result.size());
+        
+        assertEquals(2, result.get(0).getTask().getId());
+        assertEquals(0, result.get(0).getProcessorId());
+        assertEquals(1, result.get(1).getTask().getId());
+        assertEquals(1, result.get(1).getProcessorId());
+        
+        assertEquals(3, result.get(2).getTask().getId());
+        assertEquals(0, result.get(2).getProcessorId());
+        assertEquals(20, result.get(2).getStartTime());
+        assertEquals(23, result.get(2).getEndTime());
+    }
+
+    @Test
+    void testSJF_ColumnarBatchMatchesTaskList() {
+        TaskBatch batch = new TaskBatch(4);
+        batch.add(1, 1, 100, 0);
+        batch.add(2, 1, 50, 10);
+        batch.add(3, 1, 20, 10);
+        batch.add(4, 1, 10, 200);
+        
+        ScheduleBatch schedule = SchedulerService.runScheduler(new SJFStrategy(), batch, 1);
+        
+        assertEquals(4, schedule.size());
+        // Task 3 is the shortest task waiting when task 1 completes
+        int[] expectedIndices = {0, 2, 1, 3};
+        int[] expectedStarts = {0, 100, 120, 200};
+        for (int i = 0; i < expectedIndices.length; i++) {
+            assertEquals(expectedIndices[i], schedule.getTaskIndex(i));
+            assertEquals(expectedStarts[i], schedule.getStartTime(i));
+        }
+        
+        List<ScheduledTask> fromList = SchedulerService.runScheduler(new SJFStrategy(),
+                                                                     batch.toTasks(), 1);
+        List<ScheduledTask> fromBatch = schedule.toScheduledTasks(batch);
+        for (int i = 0; i < fromList.size(); i++) {
+            assertEquals(fromList.get(i).getTask(), fromBatch.get(i).getTask());
+            assertEquals(fromList.get(i).getEndTime(), fromBatch.get(i).getEndTime());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Tests for the shortest remaining time first strategy.
+ */
+public class SRTFStrategyTest {
+
+    @Test
+    void testSRTF_ShortArrivalsPreemptLongTask() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 10, 0),
+            new Task(2, 1, 2, 3),
+            new Task(3, 1, 1, 4),
+            new Task(4, 1, 7, 6)
+        );
+        List<ScheduledTask> result = SchedulerService.runScheduler(new SRTFStrategy(), tasks, 1);
+        
+        // Task 2 preempts task 1 at 3; task 3 waits for task 2, which has less time left;
+        // at 6 task 1 and task 4 both need 7 and the earlier arrival goes first
+        int[] ids = {1, 2, 3, 1, 4};
+        long[] startTimes = {0, 3, 5, 6, 13};
+        long[] endTimes = {3, 5, 6, 13, 20};
+        ScheduleAssertions.assertSchedule(result, ids, startTimes, endTimes);
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions on whole schedules, shared by the strategy tests.
+ */
+final class ScheduleAssertions {
+
+    private ScheduleAssertions() {
+    }
+
+    /**
+     * Asserts that a schedule holds exactly the given executions, in order.
+     * @param result the schedule to check
+     * @param ids expected task id of each execution
+     * @param startTimes expected start time of each execution
+     * @param endTimes expected end time of each execution
+     */
+    static void assertSchedule(List<ScheduledTask> result, int[] ids, long[] startTimes,
+                               long[] endTimes) {
+        assertEquals(ids.length, result.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], result.get(i).getTask().getId());
+            assertEquals(startTimes[i], result.get(i).getStartTime());
+            assertEquals(endTimes[i], result.get(i).getEndTime());
+        }
+    }
+
+    /**
+     * Asserts that a schedule holds exactly the given executions, in order and on the given
+     * processors.
+     * @param result the schedule to check
+     * @param ids expected task id of each execution
+     * @param processorIds expected processor of each execution
+     * @param startTimes expected start time of each execution
+     * @param endTimes expected end time of each execution
+     */
+    static void assertSchedule(List<ScheduledTask> result, int[] ids, int[] processorIds,
+                               long[] startTimes, long[] endTimes) {
+        assertSchedule(result, ids, startTimes, endTimes);
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(processorIds[i], result.get(i).getProcessorId());
+        }
+    }
+}
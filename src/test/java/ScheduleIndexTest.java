@@ -0,0 +1,40 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the schedule index.
+ */
+public class ScheduleIndexTest {
+
+    @Test
+    void testScheduleIndex_AnswersTimeQueries() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 10, 0),
+            new Task(2, 1, 4, 0),
+            new Task(3, 1, 3, 4),
+            new Task(4, 1, 2, 12)
+        );
+        List<ScheduledTask> schedule = SchedulerService.runScheduler(new FCFSStrategy(), tasks, 2);
+        ScheduleIndex index = ScheduleIndex.of(schedule, 2);
+        
+        // Processor 0 runs task 1 0-10; processor 1 runs tasks 2, 3 and 4 at 0-4, 4-7, 12-14
+        assertEquals(2, index.getRunningAt(5).size());
+        assertEquals(3, index.getTaskAt(1, 4).getTask().getId());
+        assertNull(index.getTaskAt(0, 11));
+        assertTrue(index.getRunningBetween(10, 12).isEmpty());
+        List<ScheduledTask> between = index.getRunningBetween(9, 13);
+        assertEquals(2, between.size());
+        assertEquals(1, between.get(0).getTask().getId());
+        assertEquals(4, between.get(1).getTask().getId());
+        assertEquals(7, index.getNextIdleTime(1, 0));
+        assertEquals(11, index.getNextIdleTime(0, 11));
+        
+        assertThrows(IllegalArgumentException.class, () -> ScheduleIndex.of(schedule, 1));
+    }
+}
@@ -1,6 +1,8 @@
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -172,15 +174,15 @@ public class SchedulerServiceTest {
         assertTrue(result.size() >= 2);
         
         // Verify correct total execution times
-        int task1TotalTime = result.stream()
+        long task1TotalTime = result.stream()
                 .filter(st -> st.getTask().getId() == 1)
-                .mapToInt(st -> st.getEndTime() - st.getStartTime())
+                .mapToLong(st -> st.getEndTime() - st.getStartTime())
                 .sum();
         assertEquals(700, task1TotalTime);
         
-        int task2TotalTime = result.stream()
+        long task2TotalTime = result.stream()
                 .filter(st -> st.getTask().getId() == 2)
-                .mapToInt(st -> st.getEndTime() - st.getStartTime())
+                .mapToLong(st -> st.getEndTime() - st.getStartTime())
                 .sum();
         assertEquals(400, task2TotalTime);
     }
@@ -200,15 +202,15 @@ public class SchedulerServiceTest {
         assertTrue(result.size() >= 4);
         
         // Verify all tasks execute for correct total time
-        int task1TotalTime = result.stream()
+        long task1TotalTime = result.stream()
                 .filter(st -> st.getTask().getId() == 1)
-                .mapToInt(st -> st.getEndTime() - st.getStartTime())
+                .mapToLong(st -> st.getEndTime() - st.getStartTime())
                 .sum();
         assertEquals(150, task1TotalTime);
         
-        int task2TotalTime = result.stream()
+        long task2TotalTime = result.stream()
                 .filter(st -> st.getTask().getId() == 2)
-                .mapToInt(st -> st.getEndTime() - st.getStartTime())
+                .mapToLong(st -> st.getEndTime() - st.getStartTime())
                 .sum();
         assertEquals(75, task2TotalTime);
     }
@@ -239,4 +241,105 @@ public class SchedulerServiceTest {
         assertEquals(250, result.get(2).getStartTime());
         assertEquals(330, result.get(2).getEndTime());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSweep_ComparesConfigurationsInOrder() {
+        Map<String, Scheduler> strategies = new LinkedHashMap<>();
+        strategies.put("FCFS", new FCFSStrategy());
+        strategies.put("RR q=100", new RoundRobinStrategy(100));
+        List<SweepResult> results = new SchedulingSweep().run(sampleTasks,
+                SchedulingSweep.grid(strategies, 1, 2));
+        
+        assertEquals(4, results.size());
+        assertEquals("FCFS", results.get(0).getConfiguration().getLabel());
+        assertEquals(1, results.get(0).getConfiguration().getNrProcessors());
+        // FCFS on one processor: 0-1000, 1000-1500, 1500-2300
+        assertEquals(2300, results.get(0).getMakespan());
+        assertEquals((0 + 998 + 1496) / 3.0, results.get(0).getMeanWaitingTime(), 1e-9);
+        assertEquals((1000 + 1498 + 2296) / 3.0, results.get(0).getMeanTurnaroundTime(), 1e-9);
+        
+        // FCFS on two processors: 0-1000 on processor 0, 2-502 and 502-1302 on processor 1
+        assertEquals(2, results.get(1).getConfiguration().getNrProcessors());
+        assertEquals(1302, results.get(1).getMakespan());
+        assertEquals(498 / 3.0, results.get(1).getMeanWaitingTime(), 1e-9);
+        
+        assertEquals("RR q=100", results.get(2).getConfiguration().getLabel());
+        assertEquals(2300, results.get(2).getMakespan());
+    }
+
+    @Test
+    void testMetrics_RoundRobinScheduleInOnePass() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 100, 0),
+            new Task(2, 1, 50, 0)
+        );
+        // Task 1: 0-50 and 100-150, task 2: 50-100
+        List<ScheduledTask> result = SchedulerService.runScheduler(new RoundRobinStrategy(50),
+                                                                   tasks, 1);
+        ScheduleMetrics metrics = SchedulerService.computeMetrics(result, 1);
+        
+        assertEquals(2, metrics.getTaskCount());
+        assertEquals(0, metrics.getIncompleteTaskCount());
+        assertEquals(150, metrics.getMakespan());
+        assertEquals(1.0, metrics.getUtilization(0), 1e-9);
+        assertEquals(25.0, metrics.getResponseTimes().getMean(), 1e-9);
+        assertEquals(50.0, metrics.getWaitingTimes().getMean(), 1e-9);
+        assertEquals(125.0, metrics.getTurnaroundTimes().getMean(), 1e-9);
+        assertEquals(100, metrics.getTurnaroundTimes().getPercentile(50));
+        assertEquals(150, metrics.getTurnaroundTimes().getPercentile(99.9));
+    }
+
+    @Test
+    void testListener_CountsPriorityPreemption() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 10, 0),
+            new Task(2, 5, 5, 2)
+        );
+        SchedulerStatistics statistics = new SchedulerStatistics();
+        List<ScheduledTask> result = SchedulerService.runScheduler(
+                new PriorityStrategy(statistics), tasks, 1);
+        
+        // Task 2 preempts task 1 at 2; task 1 resumes at 7
+        assertEquals(3, result.size());
+        assertEquals(3, statistics.getDispatches());
+        assertEquals(1, statistics.getPreemptions());
+        assertEquals(2, statistics.getCompletions());
+        assertEquals(0, statistics.getMerges());
+        assertEquals(1, statistics.getQueueDepths().getMax());
+    }
+
+    @Test
+    void testPerProcessor_SchedulesComeOutInStartOrder() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 7, 0),
+            new Task(2, 1, 3, 0),
+            new Task(3, 1, 4, 1)
+        );
+        List<Processor> processors = SchedulerService.runSchedulerPerProcessor(
+                new RoundRobinStrategy(2), tasks, 2);
+        
+        // Task 3 joins the less loaded processor 1 at the boundary at 2, behind task 2
+        assertEquals(2, processors.size());
+        List<ScheduledTask> first = processors.get(0).getSchedule();
+        assertEquals(1, first.size());
+        assertEquals(0, first.get(0).getStartTime());
+        assertEquals(7, first.get(0).getEndTime());
+        
+        List<ScheduledTask> second = processors.get(1).getSchedule();
+        long previousStart = -1;
+        for (ScheduledTask scheduledTask : second) {
+            assertEquals(1, scheduledTask.getProcessorId());
+            assertTrue(scheduledTask.getStartTime() > previousStart);
+            previousStart = scheduledTask.getStartTime();
+        }
+        assertEquals(2, second.size());
+        assertEquals(3, second.get(0).getEndTime());
+        assertEquals(3, second.get(1).getTask().getId());
+        assertEquals(7, second.get(1).getEndTime());
+        
+        // The merged list holds the same executions
+        List<ScheduledTask> merged = SchedulerService.runScheduler(new RoundRobinStrategy(2),
+                                                                   tasks, 2);
+        assertEquals(first.size() + second.size(), merged.size());
+    }
+}
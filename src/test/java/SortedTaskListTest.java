@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the arrival-ordered task list and its radix sort.
+ */
+public class SortedTaskListTest {
+
+    @Test
+    void testSortedTaskList_ValidatesOnceAndKeepsArrivalOrder() {
+        List<Task> tasks = List.of(
+            new Task(1, 1, 4, 3),
+            new Task(2, 1, 2, 0),
+            new Task(3, 1, 1, 3)
+        );
+        SortedTaskList sortedTasks = SortedTaskList.of(tasks);
+        
+        // Stable: tasks 1 and 3 arrive together and keep their input order
+        assertEquals(2, sortedTasks.get(0).getId());
+        assertEquals(1, sortedTasks.get(1).getId());
+        assertEquals(3, sortedTasks.get(2).getId());
+        assertTrue(sortedTasks == SortedTaskList.of(sortedTasks));
+        
+        List<ScheduledTask> fromList = SchedulerService.runScheduler(new SJFStrategy(), tasks, 1);
+        List<ScheduledTask> fromSorted = SchedulerService.runScheduler(new SJFStrategy(),
+                                                                       sortedTasks, 1);
+        assertEquals(fromList.size(), fromSorted.size());
+        for (int i = 0; i < fromList.size(); i++) {
+            assertEquals(fromList.get(i).getTask().getId(), fromSorted.get(i).getTask().getId());
+            assertEquals(fromList.get(i).getStartTime(), fromSorted.get(i).getStartTime());
+        }
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> SortedTaskList.of(List.of(new Task(4, -1, 1, 0))));
+        assertThrows(UnsupportedOperationException.class,
+                     () -> sortedTasks.add(new Task(5, 1, 1, 0)));
+    }
+
+    @Test
+    void testRadixSort_StableLikeComparatorSort() {
+        // Enough tasks for the radix passes; few distinct arrivals, so many ties
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(new Task(i, 1, 1, 3_000_000_000L + (i * 7919L) % 37));
+        }
+        List<Task> expected = new ArrayList<>(tasks);
+        expected.sort((t1, t2) -> Long.compare(t1.getArrivalTime(), t2.getArrivalTime()));
+        
+        List<Task> sortedTasks = SortedTaskList.of(tasks);
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(expected.get(i).getId(), sortedTasks.get(i).getId());
+        }
+        
+        int[] order = TaskBatch.fromTasks(tasks).arrivalOrder();
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(expected.get(i).getId(), order[i]);
+        }
+    }
+}
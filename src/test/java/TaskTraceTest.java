@@ -0,0 +1,45 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the task and schedule trace files.
+ */
+public class TaskTraceTest {
+
+    @Test
+    void testTrace_ScheduleTaskTraceFile(@TempDir Path directory) throws IOException {
+        TaskBatch tasks = new TaskBatch(3);
+        tasks.add(1, 1, 10, 5);
+        tasks.add(2, 3, 4, 0);
+        tasks.add(3, 2, 6, 3_000_000_000L);
+        Path taskFile = directory.resolve("tasks.bin");
+        Path scheduleFile = directory.resolve("schedule.bin");
+        TaskTrace.write(taskFile, tasks);
+        
+        TaskTrace trace = TaskTrace.open(taskFile);
+        assertEquals(3, trace.size());
+        assertEquals(3, trace.getId(2));
+        assertEquals(3_000_000_000L, trace.getArrivalTime(2));
+        
+        ScheduleBatch schedule = SchedulerService.runScheduler(new FCFSStrategy(), taskFile, 1,
+                                                               scheduleFile);
+        ScheduleTrace written = ScheduleTrace.open(scheduleFile);
+        
+        // Task 2 (index 1) arrives first; the records refer to tasks by their index
+        assertEquals(3, written.size());
+        assertEquals(1, written.getTaskIndex(0));
+        assertEquals(0, written.getTaskIndex(1));
+        assertEquals(5, written.getStartTime(1));
+        assertEquals(15, written.getEndTime(1));
+        assertEquals(3_000_000_006L, written.getEndTime(2));
+        assertEquals(schedule.getStartTime(2), written.toBatch().getStartTime(2));
+        
+        assertThrows(IOException.class, () -> TaskTrace.open(scheduleFile));
+    }
+}